@@ -1,18 +1,25 @@
 package framework;
 
+import framework.adapters.SessionCreationStats;
+import framework.adapters.SessionRegistry;
 import framework.platform.BrowserType;
 import framework.platform.ConfigProvider;
 import framework.platform.Device;
 import framework.platform.UnknownBrowserException;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.ios.IOSDriver;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
 import org.openqa.selenium.ie.InternetExplorerDriver;
 import org.openqa.selenium.remote.DesiredCapabilities;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 import static org.testng.Assert.fail;
 
@@ -21,19 +28,33 @@ import static org.testng.Assert.fail;
  * information about current environment.
  */
 public class Settings {
-    public static BrowserType browser;
-    public static ConfigProvider config;
+    public static volatile BrowserType browser;
+    public static volatile ConfigProvider config;
 
     /** Constructor. */
     public Settings() {
         loadSettings();
     }
 
-    /** Will load settings based on properties from {@link ConfigProvider} */
-    private void loadSettings() {
-        config = new ConfigProvider();
-        browser = BrowserType.Browser(config.getBrowser());
+    /**
+     * Will load settings based on the snapshot of {@link ConfigProvider}. Settings are loaded only once, so all
+     * threads share the same instances of {@link #browser} and {@link #config}.
+     */
+    private static void loadSettings() {
+        if (config == null) {
+            applySettings(ConfigProvider.get());
+        }
+    }
+
+    /** Re-reads properties and makes new settings visible to all threads. */
+    public static void reloadSettings() {
+        applySettings(ConfigProvider.reload());
+    }
+
+    private static synchronized void applySettings(ConfigProvider snapshot) {
         System.setProperty("org.apache.commons.logging.Log", "org.apache.commons.logging.impl.Jdk14Logger");
+        browser = snapshot.getBrowserType();
+        config = snapshot;
     }
 
     /**
@@ -69,9 +90,49 @@ public class Settings {
                 || config.getDevice().equalsIgnoreCase("Nexus 9");
     }
 
-    /** Creates new instance of webdriver. */
-    public static RemoteWebDriver createInstance() {
-        return getDriver(browser);
+    /** Creates new instance of webdriver and registers it in {@link SessionRegistry}. */
+    public static WebDriver createInstance() {
+        loadSettings();
+        WebDriver driver = createWithRetries(browser);
+        SessionRegistry.register(driver);
+        return driver;
+    }
+
+    /**
+     * Will create instance of webdriver retrying failed attempts, so that busy grid or Appium hub doesn't fail the test.
+     * Delay between attempts grows exponentially with random jitter, and no attempt is started after the deadline.
+     * Latency and outcome of every attempt are recorded in {@link SessionCreationStats}.
+     */
+    private static WebDriver createWithRetries(BrowserType browserType) {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(config.getSessionCreateDeadline());
+        long backoff = config.getSessionCreateBackoff();
+        for (int attempt = 1; ; attempt++) {
+            long start = System.currentTimeMillis();
+            try {
+                WebDriver driver = getDriver(browserType);
+                SessionCreationStats.record(browserType, System.currentTimeMillis() - start, true);
+                return driver;
+            } catch (WebDriverException e) {
+                SessionCreationStats.record(browserType, System.currentTimeMillis() - start, false);
+                long delay = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+                if (attempt > config.getSessionCreateRetries() || System.currentTimeMillis() + delay > deadline) {
+                    throw e;
+                }
+                Logger.err(String.format("Attempt %d to create %s session failed, retrying in %d ms: %s",
+                        attempt, browserType, delay, e.getMessage()));
+                sleep(delay);
+                backoff = Math.min(backoff * 2, config.getSessionCreateMaxBackoff());
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting to create session", e);
+        }
     }
 
     /**
@@ -102,7 +163,7 @@ public class Settings {
      * @return
      *          New instance of webdriver.
      */
-    private static RemoteWebDriver getDriver(BrowserType browserType) {
+    private static WebDriver getDriver(BrowserType browserType) {
         DesiredCapabilities capabilities;
         Logger.info("Hub URL: " + getRemoteURL());
         switch (browserType) {
@@ -111,6 +172,8 @@ public class Settings {
                 return new RemoteWebDriver(getRemoteURL(), capabilities);
             case FIREFOX_NO_GRID:
                 return new FirefoxDriver();
+            case HTMLUNIT:
+                return new HtmlUnitDriver(config.isHtmlUnitJavascript());
             case CHROME:
                 capabilities = DesiredCapabilities.chrome();
                 return new RemoteWebDriver(getRemoteURL(), capabilities);
@@ -4,12 +4,18 @@ import framework.Logger;
 import framework.Settings;
 import framework.platform.DatePatterns;
 import framework.platform.Device;
+import framework.platform.html.support.AdaptiveWait;
+import framework.platform.html.support.ElementCache;
+import framework.platform.html.support.RetryPolicy;
+import framework.platform.web.PageReadiness;
 import org.apache.commons.io.FileUtils;
 import org.apache.velocity.VelocityContext;
 import org.apache.velocity.app.Velocity;
 import org.apache.velocity.runtime.RuntimeConstants;
 import org.joda.time.DateTime;
 import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriverException;
 import org.testng.Assert;
 import org.testng.IReporter;
@@ -34,6 +40,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.testng.Assert.assertEquals;
 
@@ -46,15 +54,21 @@ import static org.testng.Assert.assertEquals;
 public class AutomationTestListener extends TestListenerAdapter implements IReporter, ISuiteListener {
 
 	private static final String HTML_CAPTURE_PATH = "target/surefire-reports/failed/html";
-	private String screenFilePath;
-	private String htmlFilePath;
-	private Map ticket = new HashMap<String, String>();
+	private static final String SCREENSHOT_CAPTURE_PATH = "target/surefire-reports/failed";
+	private static final long SESSION_SHUTDOWN_TIMEOUT_SECONDS = 60;
+	// Names of test result attributes, so that parallel tests never share failure details
+	private static final String TICKET_ATTRIBUTE = "ticket";
+	private static final String SCREEN_PATH_ATTRIBUTE = "screenFilePath";
+	private static final String HTML_PATH_ATTRIBUTE = "htmlFilePath";
+	// Listener may be registered more than once, suite events must be handled by one of instances only
+	private static final Set<String> startedSuites = ConcurrentHashMap.newKeySet();
+	private static final Set<String> finishedSuites = ConcurrentHashMap.newKeySet();
 	DateTime dateTime = new DateTime();
-	private int knownIssueNumber = 0;
+	private final AtomicInteger knownIssueNumber = new AtomicInteger();
 
 	@Override
 	public void onTestSkipped(ITestResult tr) {
-
+		WebDriverManager.releaseDriver();
 	}
 
 	/**
@@ -115,9 +129,10 @@ public class AutomationTestListener extends TestListenerAdapter implements IRepo
 		for (ITestResult test : tests) {
 			TestInfo testInfo = new TestInfo();
 			testInfo.setName(getMethodName(test));
-			try {
-				testInfo.setTicket(ticket.get(test.getMethod().getMethodName()).toString());
-			} catch (NullPointerException ignored) {
+			Object ticket = test.getAttribute(TICKET_ATTRIBUTE);
+			if (ticket != null) {
+				testInfo.setTicket(ticket.toString());
+			} else {
 				Logger.info("No ticket for test " + test.getMethod().getMethodName());
 			}
 			testInfo.setDuration(String.format("%.3f", (test.getEndMillis() - test.getStartMillis()) / 1000.0));
@@ -132,8 +147,8 @@ public class AutomationTestListener extends TestListenerAdapter implements IRepo
 				testInfo.setStackTrace(writer.toString().replace("<", "[").replace(">", "]"));
 				String buildURL = System.getenv("BUILD_URL");
 				if (buildURL == null) {
-					testInfo.setScreenshotUrl("file:///" + screenFilePath + getScreenshotFilename(test));
-					testInfo.setHTMLUrl("file:///" + htmlFilePath + getMethodName(test) + ".html");
+					testInfo.setScreenshotUrl("file:///" + test.getAttribute(SCREEN_PATH_ATTRIBUTE) + getScreenshotFilename(test));
+					testInfo.setHTMLUrl("file:///" + test.getAttribute(HTML_PATH_ATTRIBUTE) + getMethodName(test) + ".html");
 				} else {
 					testInfo.setScreenshotUrl(buildURL
 							+ "../ws/target/surefire-reports/failed/"
@@ -184,6 +199,11 @@ public class AutomationTestListener extends TestListenerAdapter implements IRepo
 		templateParams.put("numberOfOtherFailed", testContext.getFailedTests().size() - getKnownIssueNumber());
 		templateParams.put("numberOfTests", testContext.getSkippedTests().size() + testContext.getFailedTests().size() + testContext.getPassedTests().size());
 		templateParams.put("numberOfThreads", Settings.config.getThreadsCount());
+		templateParams.put("sessions", SessionRegistry.getSummary());
+		templateParams.put("sessionCreation", SessionCreationStats.getSummary());
+		templateParams.put("elementCache", ElementCache.getSummary());
+		templateParams.put("waits", AdaptiveWait.getSummary());
+		templateParams.put("retries", RetryPolicy.getSummary());
 		templateParams.put("duration", String.format("%.3f", (testContext.getEndDate().getTime() - testContext.getStartDate().getTime()) / 60000.0));
 		templateParams.put("failedTests", createTestInfos(testContext.getFailedTests().getAllResults()));
 		templateParams.put("failedConfigurations", createTestInfos(testContext.getFailedConfigurations().getAllResults()));
@@ -200,7 +220,7 @@ public class AutomationTestListener extends TestListenerAdapter implements IRepo
 
 	/** Return number of current known issue. */
 	private int getKnownIssueNumber() {
-		return knownIssueNumber;
+		return knownIssueNumber.get();
 	}
 
 	@Override
@@ -211,7 +231,7 @@ public class AutomationTestListener extends TestListenerAdapter implements IRepo
 	@Override
 	public void onTestSuccess(ITestResult result) {
 		Logger.info(String.format("%s - Test %s passed", getCurrentTime(), result.getName()));
-		WebDriverManager.getDriver().quit();
+		WebDriverManager.releaseDriver();
 	}
 
 	/** Overload of testng method which gathers information for each failed test. */
@@ -219,31 +239,35 @@ public class AutomationTestListener extends TestListenerAdapter implements IRepo
 	public void onTestFailure(ITestResult result) {
 		String knownIssue = Logger.getReasonForFailedTest(result);
 		if (knownIssue.contains("http")) {
-			ticket.put(result.getMethod().getMethodName(), "<a href=\"" + knownIssue + "\">" + knownIssue.split("/")[knownIssue.split("/").length - 1] + "</a>");
+			result.setAttribute(TICKET_ATTRIBUTE, "<a href=\"" + knownIssue + "\">" + knownIssue.split("/")[knownIssue.split("/").length - 1] + "</a>");
 		} else {
-			ticket.put(result.getMethod().getMethodName(), knownIssue);
+			result.setAttribute(TICKET_ATTRIBUTE, knownIssue);
 		}
 		if (!knownIssue.equals("N/A")) {
-			knownIssueNumber++;
+			knownIssueNumber.incrementAndGet();
 		}
 		Logger.err("TEST " + result.getName() + " FAILED!");
 		Logger.err("REASON: " + result.getThrowable().getLocalizedMessage());
-		try {
-			Logger.err("CURRENT URL: " + WebDriverManager.getDriver().getCurrentUrl());
-		} catch (Exception e) {
-			Logger.debug("URL cannot be taken");
-		}
 		StringBuilder error = new StringBuilder();
 		for (StackTraceElement element : result.getThrowable().getStackTrace()) {
 			error.append(element.toString()).append("\n");
 		}
 		Logger.err("STACK TRACE:\n" + error);
+		if (!WebDriverManager.hasDriver()) {
+			return;
+		}
+		try {
+			Logger.err("CURRENT URL: " + WebDriverManager.getDriver().getCurrentUrl());
+		} catch (Exception e) {
+			Logger.debug("URL cannot be taken");
+		}
 
-		screenFilePath = new File("target/surefire-reports/failed").getAbsolutePath() + "/";
+		String screenFilePath = new File(SCREENSHOT_CAPTURE_PATH).getAbsolutePath() + "/";
+		result.setAttribute(SCREEN_PATH_ATTRIBUTE, screenFilePath);
 		String screenshotPath = screenFilePath + getScreenshotFilename(result);
 		captureDefaultScreenShot(screenshotPath);
 		savePageHTML(result);
-		WebDriverManager.getDriver().quit();
+		WebDriverManager.releaseDriver();
 	}
 
 	/** Sets filename of screenshot equals to test method name. */
@@ -253,7 +277,7 @@ public class AutomationTestListener extends TestListenerAdapter implements IRepo
 
 	/** Will save HTML of page with filename same as test method name. */
 	private void savePageHTML(ITestResult result) {
-		htmlFilePath = savePageHtml(getMethodName(result));
+		result.setAttribute(HTML_PATH_ATTRIBUTE, savePageHtml(getMethodName(result)));
 	}
 
 	/** Will save HTML of page. */
@@ -277,7 +301,7 @@ public class AutomationTestListener extends TestListenerAdapter implements IRepo
 	/** Will capture and save screenshot. */
 	private void captureDefaultScreenShot(String screenShotPath) {
 		try {
-			File scrFile = WebDriverManager.getDriver().getScreenshotAs(OutputType.FILE);
+			File scrFile = takeScreenshot();
 			FileUtils.copyFile(scrFile, new File(screenShotPath));
 		} catch (Exception screenException) {
 			Logger.info("ScreenShot can not be saved.");
@@ -285,6 +309,15 @@ public class AutomationTestListener extends TestListenerAdapter implements IRepo
 		}
 	}
 
+	/** Will take screenshot of the current page. Not every browser can do that (e.g. HtmlUnit can't). */
+	private static File takeScreenshot() {
+		WebDriver driver = WebDriverManager.getDriver();
+		if (!(driver instanceof TakesScreenshot)) {
+			throw new WebDriverException("Browser does not support screenshots: " + driver);
+		}
+		return ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
+	}
+
 	/** Overload of testng method which prints out time and name for each started test. */
 	@Override
 	public void onTestStart(ITestResult result) {
@@ -304,7 +337,7 @@ public class AutomationTestListener extends TestListenerAdapter implements IRepo
 	/** Will create screenshot and save it to "target/surefire-reports/screenshots". */
 	public void createScreenshot(String screenName) {
 		try {
-			File scrFile = WebDriverManager.getDriver().getScreenshotAs(OutputType.FILE);
+			File scrFile = takeScreenshot();
 			String destDir = "target/surefire-reports/screenshots";
 			boolean isFolderExists = (new File(destDir).exists());
 
@@ -326,13 +359,32 @@ public class AutomationTestListener extends TestListenerAdapter implements IRepo
 		return currentTime.toString("E MMM, d hh:mm:ss", Locale.US);
 	}
 
+	/** Overload of testng method which starts pre-warming of webdriver sessions for all test threads. */
 	@Override
 	public void onStart(ISuite iSuite) {
-
+		if (!startedSuites.add(iSuite.getName())) {
+			return;
+		}
+		try {
+			new Settings();
+			if (Settings.config.isSessionPrewarm()) {
+				WebDriverManager.prewarmPool(Settings.config.getThreadsCount());
+			}
+		} catch (RuntimeException e) {
+			Logger.info("Sessions were not pre-warmed: " + e.getMessage());
+		}
 	}
 
+	/** Overload of testng method which closes all webdriver sessions at the end of the suite. */
 	@Override
 	public void onFinish(ISuite iSuite) {
-
+		if (!finishedSuites.add(iSuite.getName())) {
+			return;
+		}
+		ElementCache.logStatistics();
+		AdaptiveWait.logStatistics();
+		RetryPolicy.logStatistics();
+		PageReadiness.logStatistics();
+		WebDriverManager.shutdownPool(SESSION_SHUTDOWN_TIMEOUT_SECONDS);
 	}
 }
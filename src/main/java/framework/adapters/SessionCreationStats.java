@@ -0,0 +1,81 @@
+package framework.adapters;
+
+import framework.platform.BrowserType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Collects latency and outcome of every attempt to create webdriver session.
+ * <p>
+ * Latency percentiles per {@link BrowserType} show whether slow suites are bound by the grid or Appium hub. Failed
+ * attempts are counted separately and don't take part in percentiles, so timeouts don't skew them.
+ */
+public class SessionCreationStats {
+	private static final Map<BrowserType, Attempts> attempts = new EnumMap<>(BrowserType.class);
+
+	private SessionCreationStats() {
+		//Utility class. Hide the constructor to prevent instantiation.
+	}
+
+	/**
+	 * Records single attempt to create session.
+	 *
+	 * @param browserType
+	 *          Type of browser session was requested for.
+	 * @param latencyMillis
+	 *          Time spent on the attempt.
+	 * @param succeeded
+	 *          Whether session was created.
+	 */
+	public static synchronized void record(BrowserType browserType, long latencyMillis, boolean succeeded) {
+		Attempts browserAttempts = attempts.computeIfAbsent(browserType, type -> new Attempts());
+		if (succeeded) {
+			browserAttempts.latencies.add(latencyMillis);
+		} else {
+			browserAttempts.failed++;
+		}
+	}
+
+	/**
+	 * Provides latency percentile of successful attempts for specific browser type.
+	 *
+	 * @param percentile
+	 *          Percentile in range (0, 100].
+	 * @return Latency in milliseconds or -1 if no session was created.
+	 */
+	public static synchronized long getPercentile(BrowserType browserType, double percentile) {
+		Attempts browserAttempts = attempts.get(browserType);
+		if (browserAttempts == null || browserAttempts.latencies.isEmpty()) {
+			return -1;
+		}
+		List<Long> sorted = new ArrayList<>(browserAttempts.latencies);
+		Collections.sort(sorted);
+		int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+		return sorted.get(Math.max(rank, 1) - 1);
+	}
+
+	/** Provides summary of attempts and latency percentiles per browser type. */
+	public static synchronized String getSummary() {
+		if (attempts.isEmpty()) {
+			return "no sessions created";
+		}
+		StringJoiner summary = new StringJoiner("; ");
+		for (Map.Entry<BrowserType, Attempts> entry : attempts.entrySet()) {
+			BrowserType browserType = entry.getKey();
+			summary.add(String.format("%s - created: %d, failed: %d, p50: %d ms, p95: %d ms, p99: %d ms",
+					browserType, entry.getValue().latencies.size(), entry.getValue().failed,
+					getPercentile(browserType, 50), getPercentile(browserType, 95), getPercentile(browserType, 99)));
+		}
+		return summary.toString();
+	}
+
+	private static class Attempts {
+		private final List<Long> latencies = new ArrayList<>();
+		private int failed;
+	}
+}
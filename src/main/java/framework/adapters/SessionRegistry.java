@@ -0,0 +1,174 @@
+package framework.adapters;
+
+import framework.Settings;
+import org.openqa.selenium.WebDriver;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registry of all webdriver sessions created through {@link Settings#createInstance()}.
+ * <p>
+ * Keeps lifecycle information of every open session: owner thread and test, creation time and time of the last
+ * command. Last command time is updated whenever session is accessed through {@link WebDriverManager} or used to
+ * locate elements. Registry is used by {@link WebDriverPool} to reap idle and orphaned sessions and provides session
+ * statistics for the end of suite.
+ */
+public class SessionRegistry {
+	private static final Map<WebDriver, SessionRecord> openSessions = new ConcurrentHashMap<>();
+	private static final Set<WebDriver> reapedSessions = Collections.synchronizedSet(
+			Collections.newSetFromMap(new WeakHashMap<>()));
+	private static final AtomicInteger createdCount = new AtomicInteger();
+	private static final AtomicInteger closedCount = new AtomicInteger();
+	private static final AtomicInteger reapedCount = new AtomicInteger();
+	private static final AtomicInteger leakedCount = new AtomicInteger();
+	private static final AtomicLong totalLifetimeMillis = new AtomicLong();
+
+	private SessionRegistry() {
+		//Utility class. Hide the constructor to prevent instantiation.
+	}
+
+	/** Starts tracking of newly created session. */
+	public static void register(WebDriver driver) {
+		openSessions.put(driver, new SessionRecord(driver));
+		createdCount.incrementAndGet();
+	}
+
+	/** Marks session as owned by the current thread and its current test. */
+	public static void assign(WebDriver driver) {
+		SessionRecord record = openSessions.get(driver);
+		if (record != null) {
+			ITestResult result = Reporter.getCurrentTestResult();
+			record.owner = Thread.currentThread();
+			record.testName = result != null ? result.getMethod().getMethodName() : null;
+			record.lastCommandTime = System.currentTimeMillis();
+		}
+	}
+
+	/** Marks session as not owned by any thread (e.g. returned to the pool). */
+	public static void unassign(WebDriver driver) {
+		SessionRecord record = openSessions.get(driver);
+		if (record != null) {
+			record.owner = null;
+			record.testName = null;
+			record.lastCommandTime = System.currentTimeMillis();
+		}
+	}
+
+	/**
+	 * Updates time of the last command of the session.
+	 *
+	 * @return False if session was reaped and must not be used anymore, true otherwise.
+	 */
+	public static boolean touch(WebDriver driver) {
+		SessionRecord record = openSessions.get(driver);
+		if (record != null) {
+			record.lastCommandTime = System.currentTimeMillis();
+			return true;
+		}
+		return !reapedSessions.contains(driver);
+	}
+
+	/** Checks whether session was reaped by {@link WebDriverPool}. */
+	public static boolean isReaped(WebDriver driver) {
+		return reapedSessions.contains(driver);
+	}
+
+	/** Marks session as reaped. Reaped session is closed afterwards as usual. */
+	public static void reaped(WebDriver driver) {
+		if (reapedSessions.add(driver)) {
+			reapedCount.incrementAndGet();
+		}
+	}
+
+	/** Stops tracking of the session which was quit. */
+	public static void closed(WebDriver driver) {
+		SessionRecord record = openSessions.remove(driver);
+		if (record != null) {
+			closedCount.incrementAndGet();
+			totalLifetimeMillis.addAndGet(System.currentTimeMillis() - record.creationTime);
+		}
+	}
+
+	/** Provides snapshot of all sessions which are not closed yet. */
+	public static Collection<SessionRecord> getOpenSessions() {
+		return new ArrayList<>(openSessions.values());
+	}
+
+	/** Counts sessions which are still owned by test threads at the end of suite as leaked ones. */
+	public static void recordLeaks() {
+		for (SessionRecord record : openSessions.values()) {
+			if (record.getOwner() != null) {
+				leakedCount.incrementAndGet();
+			}
+		}
+	}
+
+	/** Provides summary of lifecycle of all sessions. */
+	public static String getSummary() {
+		int closed = closedCount.get();
+		double averageLifetime = closed == 0 ? 0 : totalLifetimeMillis.get() / (closed * 1000.0);
+		return String.format("created: %d, closed: %d, reaped: %d, leaked: %d, average lifetime: %.1f sec",
+				createdCount.get(), closed, reapedCount.get(), leakedCount.get(), averageLifetime);
+	}
+
+	/**
+	 * Lifecycle information of single session.
+	 */
+	public static class SessionRecord {
+		private final WebDriver driver;
+		private final long creationTime;
+		private volatile long lastCommandTime;
+		private volatile Thread owner;
+		private volatile String testName;
+
+		private SessionRecord(WebDriver driver) {
+			this.driver = driver;
+			this.creationTime = System.currentTimeMillis();
+			this.lastCommandTime = creationTime;
+		}
+
+		public WebDriver getDriver() {
+			return driver;
+		}
+
+		public long getCreationTime() {
+			return creationTime;
+		}
+
+		public long getLastCommandTime() {
+			return lastCommandTime;
+		}
+
+		public Thread getOwner() {
+			return owner;
+		}
+
+		public String getTestName() {
+			return testName;
+		}
+
+		/** Session is orphaned if the thread which owns it is not alive anymore. */
+		public boolean isOrphaned() {
+			Thread currentOwner = owner;
+			return currentOwner != null && !currentOwner.isAlive();
+		}
+
+		@Override
+		public String toString() {
+			Thread currentOwner = owner;
+			return String.format("%s [owner: %s, test: %s, idle: %d sec]", driver,
+					currentOwner != null ? currentOwner.getName() : "pool", testName,
+					(System.currentTimeMillis() - lastCommandTime) / 1000);
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package framework.adapters;
+
+import framework.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Quits webdriver sessions in background, so test thread doesn't wait while browser or grid closes the session.
+ * <p>
+ * Executor is bounded: when its queue is full, session is quit on the calling thread. Every session handed over is
+ * quit before JVM exits. Numbers of pending and failed quits are tracked to make session leaks visible.
+ */
+public class SessionTerminator {
+	private static final int QUIT_THREADS = 4;
+	private static final int QUEUE_CAPACITY = 100;
+	private static final long SHUTDOWN_TIMEOUT_SECONDS = 120;
+	private static final long AWAIT_POLLING_MILLIS = 50;
+
+	private final ThreadPoolExecutor executor;
+	private final AtomicInteger pendingQuits = new AtomicInteger();
+	private final AtomicInteger failedQuits = new AtomicInteger();
+	private final AtomicInteger completedQuits = new AtomicInteger();
+
+	/** Constructor. Registers shutdown hook which waits for all pending quits. */
+	public SessionTerminator() {
+		executor = new ThreadPoolExecutor(QUIT_THREADS, QUIT_THREADS, 30, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+			Thread thread = new Thread(runnable, "webdriver-quit");
+			thread.setDaemon(true);
+			return thread;
+		}, new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.allowCoreThreadTimeOut(true);
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> awaitAll(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS),
+				"webdriver-quit-on-exit"));
+	}
+
+	/**
+	 * Hands session over to background executor which will quit it.
+	 *
+	 * @param driver
+	 *          Instance of webdriver which must not be used by the caller anymore.
+	 */
+	public void quit(WebDriver driver) {
+		pendingQuits.incrementAndGet();
+		try {
+			executor.execute(() -> quitNow(driver));
+		} catch (RejectedExecutionException e) {
+			quitNow(driver);
+		}
+	}
+
+	/**
+	 * Waits until all sessions handed over are quit.
+	 *
+	 * @return True if there are no pending quits left, false if timeout expired.
+	 */
+	public boolean awaitAll(long timeout, TimeUnit unit) {
+		long deadline = System.currentTimeMillis() + unit.toMillis(timeout);
+		while (pendingQuits.get() > 0 && System.currentTimeMillis() < deadline) {
+			try {
+				Thread.sleep(AWAIT_POLLING_MILLIS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		return pendingQuits.get() == 0;
+	}
+
+	/** Number of sessions which are handed over but not quit yet. */
+	public int getPendingQuits() {
+		return pendingQuits.get();
+	}
+
+	/** Number of sessions which threw an exception on quit and may still be alive. */
+	public int getFailedQuits() {
+		return failedQuits.get();
+	}
+
+	/** Number of sessions which were quit successfully. */
+	public int getCompletedQuits() {
+		return completedQuits.get();
+	}
+
+	private void quitNow(WebDriver driver) {
+		try {
+			driver.quit();
+			completedQuits.incrementAndGet();
+		} catch (Exception e) {
+			failedQuits.incrementAndGet();
+			Logger.err("[SessionTerminator] Can not quit driver: " + e.getMessage());
+		} finally {
+			SessionRegistry.closed(driver);
+			pendingQuits.decrementAndGet();
+		}
+	}
+}
@@ -1,41 +1,30 @@
 package framework.adapters;
 
-import framework.Logger;
-import framework.Settings;
-import org.openqa.selenium.remote.RemoteWebDriver;
 import org.testng.IInvokedMethod;
 import org.testng.IInvokedMethodListener;
 import org.testng.ITestResult;
 
-import java.util.concurrent.TimeUnit;
-
 /**
  * One of the framework core classes.
  * <p/>
- * Custom listener which is used for instantiation of new WebDriver for each test method.
+ * Custom listener which returns instances of WebDriver to {@link WebDriverPool}. Instances are leased lazily by
+ * {@link WebDriverManager#getDriver()} when method touches the browser for the first time.
  */
 public class WebDriverListener implements IInvokedMethodListener {
 
-	/**
-	 * Overload of the testng listener that will start new instance of webdriver
-	 */
 	@Override
 	public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
-		RemoteWebDriver driver = new Settings().createInstance();
-		driver.manage().timeouts().pageLoadTimeout(120, TimeUnit.SECONDS);
-		driver.manage().timeouts().setScriptTimeout(120, TimeUnit.SECONDS);
-		driver.manage().timeouts().implicitlyWait(10, TimeUnit.SECONDS);
-		WebDriverManager.setWebDriver(driver);
 	}
 
+	/**
+	 * Overload of the testng listener that will return instance of webdriver to the pool after configuration methods.
+	 * Instance used by {@code @BeforeMethod} is kept for the test itself. Test methods return it in
+	 * {@link AutomationTestListener} once test result is processed.
+	 */
 	@Override
 	public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
-		if (!method.isTestMethod()) {
-			try {
-				WebDriverManager.getDriver().quit();
-			} catch (Exception ignored) {
-				Logger.info("Can not quit driver");
-			}
+		if (!method.isTestMethod() && !method.getTestMethod().isBeforeMethodConfiguration()) {
+			WebDriverManager.releaseDriver();
 		}
 	}
 }
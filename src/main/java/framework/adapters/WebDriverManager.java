@@ -1,18 +1,96 @@
 package framework.adapters;
 
-import org.openqa.selenium.remote.RemoteWebDriver;
+import framework.Logger;
+import framework.platform.ConfigProvider;
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  *  Provides instantiation and access to instance of webdriver.
+ *  <p>
+ *  Instances of webdriver are leased from {@link WebDriverPool} on first access and bound to the calling thread, so
+ *  methods which never touch the browser don't cost a session.
  */
 public class WebDriverManager {
-    private static ThreadLocal<RemoteWebDriver> webDriver = new ThreadLocal<>();
+    private static ThreadLocal<WebDriver> webDriver = new ThreadLocal<>();
+    private static final WebDriverPool pool = new WebDriverPool();
+
+    /**
+     * Provides instance of webdriver which is bound to the current thread. Instance is leased from the pool if current
+     * thread doesn't own one yet, or if its session was reaped.
+     */
+    public static WebDriver getDriver() {
+        WebDriver driver = webDriver.get();
+        if (driver != null && !SessionRegistry.touch(driver)) {
+            Logger.info("[WebDriverManager] Session of current thread was reaped, leasing new one");
+            driver = null;
+        }
+        if (driver == null) {
+            driver = pool.lease();
+            webDriver.set(driver);
+        }
+        return driver;
+    }
 
-    public static RemoteWebDriver getDriver() {
-        return webDriver.get();
+    /** Checks whether current thread already owns instance of webdriver, without leasing one. */
+    public static boolean hasDriver() {
+        return webDriver.get() != null;
     }
 
-    public static void setWebDriver(RemoteWebDriver driver) {
+    public static void setWebDriver(WebDriver driver) {
         webDriver.set(driver);
     }
+
+    /** Returns instance of webdriver which is bound to the current thread back to the pool. */
+    public static void releaseDriver() {
+        WebDriver driver = webDriver.get();
+        if (driver != null) {
+            webDriver.remove();
+            pool.release(driver);
+        }
+    }
+
+    /**
+     * Starts background creation of instances of webdriver, which will be handed out as tests begin.
+     *
+     * @param numberOfDrivers
+     *          Number of instances of webdriver to create.
+     */
+    public static void prewarmPool(int numberOfDrivers) {
+        pool.prewarm(numberOfDrivers);
+    }
+
+    /**
+     * Quits all pooled instances of webdriver and waits for background quits to finish.
+     *
+     * @param timeoutInSeconds
+     *          Maximum time to wait for pending quits.
+     */
+    public static void shutdownPool(long timeoutInSeconds) {
+        SessionRegistry.recordLeaks();
+        pool.shutdown();
+        SessionTerminator terminator = pool.getTerminator();
+        terminator.awaitAll(timeoutInSeconds, TimeUnit.SECONDS);
+        Logger.info(String.format("[WebDriverManager] Sessions quit: %d, failed to quit: %d, pending: %d",
+                terminator.getCompletedQuits(), terminator.getFailedQuits(), terminator.getPendingQuits()));
+        Logger.info("[WebDriverManager] Sessions " + SessionRegistry.getSummary());
+    }
+
+    /** Number of sessions which are being quit in background right now. */
+    public static int getPendingQuits() {
+        return pool.getTerminator().getPendingQuits();
+    }
+
+    /** Number of sessions which failed to quit and may be leaked. */
+    public static int getFailedQuits() {
+        return pool.getTerminator().getFailedQuits();
+    }
+
+    /** Sets timeouts which every instance of webdriver must have at the beginning of the test. */
+    static void applyDefaultTimeouts(WebDriver driver) {
+        driver.manage().timeouts().pageLoadTimeout(120, TimeUnit.SECONDS);
+        driver.manage().timeouts().setScriptTimeout(120, TimeUnit.SECONDS);
+        driver.manage().timeouts().implicitlyWait(ConfigProvider.get().getImplicitWait(), TimeUnit.SECONDS);
+    }
 }
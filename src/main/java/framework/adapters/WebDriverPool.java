@@ -0,0 +1,277 @@
+package framework.adapters;
+
+import framework.Logger;
+import framework.Settings;
+import framework.platform.html.support.ElementCache;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One of the framework core classes.
+ * <p>
+ * Pool of reusable webdriver sessions. Each test thread leases a session from the pool and returns it after the test,
+ * so browser launch (or grid session negotiation) is paid once per session instead of once per test method.
+ * <p>
+ * Returned session is reset before it can be leased again: extra windows are closed, cookies are deleted, browser is
+ * navigated to blank page and default timeouts are restored. Session is recycled (quit) after
+ * {@code session.max.uses} leases or when it is found unhealthy.
+ * <p>
+ * Sessions can be pre-warmed in background with {@link #prewarm(int)}, so their creation overlaps with suite setup
+ * instead of blocking the first test on every thread. Recycled sessions are quit in background by
+ * {@link SessionTerminator}.
+ * <p>
+ * Reaper thread periodically quits sessions which got no commands for {@code session.idle.timeout} seconds and
+ * sessions whose owner thread died, so that they don't occupy browser or grid slot until the grid timeout.
+ */
+public class WebDriverPool {
+	private static final String BLANK_PAGE = "about:blank";
+	private static final long WARM_UP_POLLING_MILLIS = 100;
+
+	private final LinkedBlockingDeque<PooledSession> idleSessions = new LinkedBlockingDeque<>();
+	private final Map<WebDriver, PooledSession> leasedSessions = new ConcurrentHashMap<>();
+	private final AtomicInteger pendingWarmUps = new AtomicInteger();
+	private final SessionTerminator terminator = new SessionTerminator();
+	private ScheduledExecutorService reaper;
+	private volatile boolean closed;
+
+	/**
+	 * Leases a healthy session from the pool or creates new one if there is no idle session.
+	 *
+	 * @return Instance of webdriver which is owned by the caller until {@link #release(WebDriver)} is called.
+	 */
+	public WebDriver lease() {
+		PooledSession session;
+		while ((session = takeIdleSession()) != null) {
+			if (isHealthy(session.driver)) {
+				break;
+			}
+			Logger.info("[WebDriverPool] Idle session is not healthy and will be recycled");
+			quit(session.driver);
+		}
+		if (session == null) {
+			session = new PooledSession(createSession());
+		}
+		session.uses++;
+		leasedSessions.put(session.driver, session);
+		SessionRegistry.assign(session.driver);
+		return session.driver;
+	}
+
+	/**
+	 * Returns leased session back to the pool. Session will be reset, or quit if it was used maximum number of times
+	 * or can not be reset.
+	 *
+	 * @param driver
+	 *          Instance of webdriver which was received from {@link #lease()}.
+	 */
+	public void release(WebDriver driver) {
+		PooledSession session = leasedSessions.remove(driver);
+		if (session == null) {
+			if (!SessionRegistry.isReaped(driver)) {
+				quit(driver);
+			}
+			return;
+		}
+		if (session.uses >= getMaxUses() || !reset(driver)) {
+			quit(driver);
+			return;
+		}
+		SessionRegistry.unassign(driver);
+		idleSessions.offerFirst(session);
+	}
+
+	/**
+	 * Asynchronously creates sessions and puts them to the pool as idle ones, until pool holds given number of
+	 * sessions. Repeated calls don't create extra sessions.
+	 *
+	 * @param numberOfSessions
+	 *          Number of sessions pool should hold, usually equals to number of test threads.
+	 */
+	public synchronized void prewarm(int numberOfSessions) {
+		numberOfSessions -= idleSessions.size() + leasedSessions.size() + pendingWarmUps.get();
+		if (numberOfSessions < 1) {
+			return;
+		}
+		Logger.info("[WebDriverPool] Pre-warming " + numberOfSessions + " session(s)");
+		ExecutorService executor = Executors.newFixedThreadPool(numberOfSessions, runnable -> {
+			Thread thread = new Thread(runnable, "webdriver-warm-up");
+			thread.setDaemon(true);
+			return thread;
+		});
+		pendingWarmUps.addAndGet(numberOfSessions);
+		for (int i = 0; i < numberOfSessions; i++) {
+			executor.submit(this::warmUpSession);
+		}
+		executor.shutdown();
+	}
+
+	/** Hands all sessions which are known to the pool over to {@link SessionTerminator}. */
+	public void shutdown() {
+		closed = true;
+		synchronized (this) {
+			if (reaper != null) {
+				reaper.shutdownNow();
+				reaper = null;
+			}
+		}
+		PooledSession session;
+		while ((session = idleSessions.pollFirst()) != null) {
+			quit(session.driver);
+		}
+		for (WebDriver driver : leasedSessions.keySet()) {
+			leasedSessions.remove(driver);
+			quit(driver);
+		}
+	}
+
+	/**
+	 * Takes idle session from the pool. If there is no idle session but pre-warming is still in progress, waits
+	 * until one of the pre-warmed sessions is ready.
+	 *
+	 * @return Idle session or null if there is nothing to wait for.
+	 */
+	private PooledSession takeIdleSession() {
+		try {
+			PooledSession session = idleSessions.pollFirst();
+			while (session == null && pendingWarmUps.get() > 0) {
+				session = idleSessions.pollFirst(WARM_UP_POLLING_MILLIS, TimeUnit.MILLISECONDS);
+			}
+			return session;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+	}
+
+	/** Creates single session in background and puts it to the pool as idle one. */
+	private void warmUpSession() {
+		try {
+			WebDriver driver = createSession();
+			if (closed) {
+				quit(driver);
+			} else {
+				idleSessions.offerLast(new PooledSession(driver));
+			}
+		} catch (Exception e) {
+			Logger.err("[WebDriverPool] Session can not be pre-warmed: " + e.getMessage());
+		} finally {
+			pendingWarmUps.decrementAndGet();
+		}
+	}
+
+	/** Starts reaper thread if it is not started yet. */
+	private synchronized void startReaper() {
+		if (reaper != null || closed) {
+			return;
+		}
+		int interval = Settings.config.getSessionReaperInterval();
+		reaper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "webdriver-reaper");
+			thread.setDaemon(true);
+			return thread;
+		});
+		reaper.scheduleWithFixedDelay(this::reap, interval, interval, TimeUnit.SECONDS);
+	}
+
+	/** Quits sessions which are idle or orphaned for too long. */
+	private void reap() {
+		try {
+			long idleTimeout = TimeUnit.SECONDS.toMillis(Settings.config.getSessionIdleTimeout());
+			long now = System.currentTimeMillis();
+			for (SessionRegistry.SessionRecord record : SessionRegistry.getOpenSessions()) {
+				boolean orphaned = record.isOrphaned();
+				if (!orphaned && now - record.getLastCommandTime() < idleTimeout) {
+					continue;
+				}
+				WebDriver driver = record.getDriver();
+				if (leasedSessions.remove(driver) == null
+						&& !idleSessions.removeIf(session -> session.driver == driver)) {
+					// Session is being created, reset or quit right now
+					continue;
+				}
+				Logger.info("[WebDriverPool] Reaping " + (orphaned ? "orphaned" : "idle") + " session " + record);
+				SessionRegistry.reaped(driver);
+				quit(driver);
+			}
+		} catch (Exception e) {
+			Logger.err("[WebDriverPool] Reaper failed: " + e.getMessage());
+		}
+	}
+
+	/** Creates new session with default timeouts. */
+	private WebDriver createSession() {
+		startReaper();
+		WebDriver driver = Settings.createInstance();
+		WebDriverManager.applyDefaultTimeouts(driver);
+		return driver;
+	}
+
+	/**
+	 * Brings session to the state of newly created one.
+	 *
+	 * @return True if session was reset successfully, false otherwise.
+	 */
+	private boolean reset(WebDriver driver) {
+		try {
+			Set<String> windows = driver.getWindowHandles();
+			String mainWindow = windows.iterator().next();
+			for (String window : windows) {
+				if (!window.equals(mainWindow)) {
+					driver.switchTo().window(window);
+					driver.close();
+				}
+			}
+			driver.switchTo().window(mainWindow);
+			driver.manage().deleteAllCookies();
+			driver.navigate().to(BLANK_PAGE);
+			ElementCache.invalidate(driver);
+			WebDriverManager.applyDefaultTimeouts(driver);
+			return true;
+		} catch (Exception e) {
+			Logger.info("[WebDriverPool] Session can not be reset: " + e.getMessage());
+			return false;
+		}
+	}
+
+	/** Checks whether session still responds to commands. */
+	private boolean isHealthy(WebDriver driver) {
+		try {
+			driver.getWindowHandle();
+			return true;
+		} catch (Exception e) {
+			return false;
+		}
+	}
+
+	private void quit(WebDriver driver) {
+		terminator.quit(driver);
+	}
+
+	/** Provides access to statistics of sessions which were quit by the pool. */
+	public SessionTerminator getTerminator() {
+		return terminator;
+	}
+
+	private int getMaxUses() {
+		return Settings.config.getSessionMaxUses();
+	}
+
+	/** Webdriver session together with number of times it was leased. */
+	private static class PooledSession {
+		private final WebDriver driver;
+		private int uses;
+
+		private PooledSession(WebDriver driver) {
+			this.driver = driver;
+		}
+	}
+}
@@ -4,16 +4,16 @@ import framework.Logger;
 import framework.Settings;
 import framework.adapters.WebDriverManager;
 import framework.platform.html.WebObject;
+import framework.platform.html.support.ReadinessCheck;
+import framework.platform.html.support.WaitForAny;
 import framework.platform.web.Locator;
-import org.openqa.selenium.JavascriptExecutor;
+import framework.platform.web.NetworkTracker;
+import framework.platform.web.PageReadiness;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
 
 /**
  * A Base class from which all page classes should be derived.
@@ -22,19 +22,51 @@ import java.util.Arrays;
  * page(s).
  */
 public abstract class BasicPage extends AbstractPage {
-    public static WebDriver basedriver;
+    private static final int NETWORK_IDLE_TIMEOUT = 10000;
+    private static final int PAGE_READY_TIMEOUT = 10000;
 
-    /** Constructor. */
+    protected final WebDriver driver;
+
+    /**
+     * Constructor. Binds page to the instance of webdriver of the calling thread. Doesn't wait for the page: readiness
+     * is checked on the first interaction with its {@link WebObject}s, see {@link PageReadiness}.
+     */
     public BasicPage() {
         super();
-        basedriver = WebDriverManager.getDriver();
+        driver = WebDriverManager.getDriver();
         initializeWebObjects(this);
-        waitForPageToLoad();
+        PageReadiness.expectNewDocument(driver, this);
+    }
+
+    /** Will return instance of webdriver which this page is bound to. */
+    public WebDriver getDriver() {
+        return driver;
     }
 
+    /**
+     * Waits until page is loaded, ajax requests are finished and all fields marked with
+     * {@link Locator#requiredForReady()} are visible. All conditions are checked by one script per poll, see
+     * {@link ReadinessCheck}. Readiness of the document is confirmed when they hold, see {@link PageReadiness}.
+     *
+     * @throws TimeoutException if a required field is not visible after timeout.
+     */
     @Override
     public void waitForPageToLoad() {
-        waitForAjaxRequestToBeFinished();
+        Map<String, String> requiredElements = PageMetadata.of(getClass()).getReadinessLocators(Settings.getPlatform());
+        if (requiredElements.isEmpty()) {
+            waitForAjaxRequestToBeFinished();
+            return;
+        }
+        ReadinessCheck.Result result = PageReadiness.await(driver, ReadinessCheck.of(requiredElements),
+                PAGE_READY_TIMEOUT);
+        if (result.isReady()) {
+            Logger.debug("[BasicPage] " + getClass().getSimpleName() + " is " + result);
+        } else if (!Collections.disjoint(result.getPending(), requiredElements.keySet())) {
+            throw new TimeoutException(getClass().getSimpleName() + " is " + result);
+        } else {
+            Logger.info("[BasicPage] " + getClass().getSimpleName() + " is " + result
+                    + ", but trying to continue the test.");
+        }
     }
 
     /** Calling {@code waitForAjaxRequestToBeFinished} with 5 seconds maximum timeout. */
@@ -43,23 +75,35 @@ public abstract class BasicPage extends AbstractPage {
     }
 
     /** Will wait with specified maximum timeout until page is loaded completely and all instances of ajax
-     *  are finished their actions.
+     *  are finished their actions. Does nothing if browser can't execute javascript.
      *  @param timeoutInMilliseconds
      *                              Maximum timeout in milliseconds (1000 = 1 second)
      */
     protected void waitForAjaxRequestToBeFinished(int timeoutInMilliseconds) {
-        int sleepTime = 500;
-        JavascriptExecutor jse = (JavascriptExecutor) basedriver;
-        for (int i = 0; i < timeoutInMilliseconds / sleepTime; i++) {
-            sleepFor(sleepTime / 2);
-            if ((Boolean) jse.executeScript(
-                    //window.jQuery != undefined && jQuery.active == 0 (those can be used optionally)
-                    "return document.readyState == 'complete'")) {
-                return;
-            }
-            sleepFor(sleepTime / 2);
+        if (!PageReadiness.waitUntilReady(driver, timeoutInMilliseconds)) {
+            Logger.info("[BasicPage] Wait for ajax encountered an error, but trying to continue the test.");
+        }
+    }
+
+    /**
+     * Will wait until page has no network requests in flight and no network activity for specified time, so that
+     * waiting ends as soon as the page settles after ajax update.
+     *
+     * @param quietMillis
+     *                    Time in milliseconds without network activity (1000 = 1 second)
+     */
+    public void waitForNetworkIdle(int quietMillis) {
+        if (!NetworkTracker.waitForNetworkIdle(driver, quietMillis, NETWORK_IDLE_TIMEOUT)) {
+            Logger.info("[BasicPage] Network is still active, but trying to continue the test.");
         }
-        Logger.info("[BasicPage] Wait for ajax encountered an error, but trying to continue the test.");
+    }
+
+    /**
+     * Will create wait for the first of several outcomes of the page, e.g.
+     * {@code waitForAny().visible("success", successPanel).visible("error", errorMessage).await(30000)}.
+     */
+    protected WaitForAny waitForAny() {
+        return WaitForAny.of(driver);
     }
 
     /**
@@ -78,83 +122,13 @@ public abstract class BasicPage extends AbstractPage {
 
     /**
      * Initialization of all fields of type {@link WebObject} which are complemented with the annotation {@link Locator}.
+     * Fields and their locators are resolved once per page class, see {@link PageMetadata}.
      *
      * @param whichClass
      *                  Page class to parse.
      */
     public void initializeWebObjects(Object whichClass) {
-        Class<?> incomingClass = whichClass.getClass();
-        ArrayList<Field> fields = new ArrayList<>();
-
-        Class<?> tempIncomingClass = incomingClass;
-        do {
-            fields.addAll(Arrays.asList(tempIncomingClass.getDeclaredFields()));
-            tempIncomingClass = tempIncomingClass.getSuperclass();
-        } while (tempIncomingClass != null);
-
-        String errorDesc = " while initializing locators for WebObjects. Root cause:";
-        try {
-            for (Field field : fields)
-                if (field.isAnnotationPresent(Locator.class)) {
-                    Annotation annotation = field.getAnnotation(Locator.class);
-                    Locator locatorAnnotation = (Locator) annotation;
-
-                    field.setAccessible(true);
-
-                    Class<?> dataMemberClass = Class.forName(field.getType().getName());
-                    Class<?> parameterTypes[] = new Class[3];
-
-                    String locator = null;
-                    switch (Settings.getPlatform()) {
-                        case DESKTOP:
-                            locator = locatorAnnotation.main();
-                            break;
-                        case MOBILE:
-                            if (locatorAnnotation.mobile().isEmpty()) {
-                                locator = locatorAnnotation.main();
-                            } else {
-                                locator = locatorAnnotation.mobile();
-                            }
-                            break;
-                        case TABLET:
-                            if (locatorAnnotation.mobile().isEmpty()) {
-                                locator = locatorAnnotation.main();
-                            } else {
-                                locator = locatorAnnotation.tablet();
-                            }
-                            break;
-                        default:
-                            break;
-                    }
-
-                    parameterTypes[0] = WebDriver.class;
-                    parameterTypes[1] = String.class;
-                    parameterTypes[2] = String.class;
-                    Constructor<?> constructor = dataMemberClass.getDeclaredConstructor(parameterTypes);
-
-                    Object[] constructorArgList = new Object[3];
-
-                    constructorArgList[0] = basedriver;
-                    constructorArgList[1] = locator;
-                    constructorArgList[2] = field.getName();
-                    Object retobj = constructor.newInstance(constructorArgList);
-                    field.set(whichClass, retobj);
-                }
-        } catch (ClassNotFoundException exception) {
-            throw new RuntimeException("Class not found" + errorDesc + exception, exception);
-        } catch (IllegalArgumentException exception) {
-            throw new RuntimeException("An illegal argument was encountered" + errorDesc + exception, exception);
-        } catch (InstantiationException exception) {
-            throw new RuntimeException("Could not instantantiate object" + errorDesc + exception, exception);
-        } catch (IllegalAccessException exception) {
-            throw new RuntimeException("Could not access data member" + errorDesc + exception, exception);
-        } catch (InvocationTargetException exception) {
-            throw new RuntimeException("Invocation error occured" + errorDesc + exception, exception);
-        } catch (SecurityException exception) {
-            throw new RuntimeException("Security error occured" + errorDesc + exception, exception);
-        } catch (NoSuchMethodException exception) {
-            throw new RuntimeException("Method specified not found" + errorDesc + exception, exception);
-        }
+        PageMetadata.of(whichClass.getClass()).initialize(whichClass, driver, Settings.getPlatform());
         pageInitialized = true;
     }
 }
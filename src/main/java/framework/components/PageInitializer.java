@@ -0,0 +1,38 @@
+package framework.components;
+
+import framework.platform.Device;
+import framework.platform.web.Locator;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Initializer of {@link Locator} fields declared by single page class.
+ * <p>
+ * Implementations are generated at build time by {@code framework.platform.web.processor.LocatorProcessor} and are
+ * picked up by {@link BasicPage#initializeWebObjects(Object)} instead of reflection.
+ */
+public interface PageInitializer {
+    /** Suffix of the generated initializer class name, e.g. {@code CheckoutPage_WebObjects}. */
+    String CLASS_SUFFIX = "_WebObjects";
+
+    /**
+     * Creates {@link framework.platform.html.WebObject}s for fields declared by the page class.
+     *
+     * @param page
+     *          Instance of the page class.
+     * @param platform
+     *          Platform which defines locators to use.
+     */
+    void initialize(Object page, WebDriver driver, Device platform);
+
+    /** Picks the locator of the given platform. */
+    static String select(Device platform, String desktop, String mobile, String tablet) {
+        switch (platform) {
+            case MOBILE:
+                return mobile;
+            case TABLET:
+                return tablet;
+            default:
+                return desktop;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package framework.components;
+
+import framework.platform.Device;
+import framework.platform.html.WebObject;
+import framework.platform.web.Locator;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Metadata of page class which is needed to initialize its fields of {@link WebObject} type.
+ * <p>
+ * Initializer generated at build time ({@link PageInitializer}) is used for every class of the hierarchy which has
+ * one. Fields of other classes, their locators for every {@link Device} and handles of field setters and constructors
+ * are resolved once per class, so initialization of a page is a plain loop of assignments. Fields which are required
+ * for readiness of the page are collected as well.
+ */
+final class PageMetadata {
+    private static final String ERROR_DESCRIPTION = " while initializing locators for WebObjects. Root cause:";
+    private static final MethodType CONSTRUCTOR_TYPE =
+            MethodType.methodType(void.class, WebDriver.class, String.class, String.class);
+    private static final MethodType FACTORY_TYPE =
+            MethodType.methodType(Object.class, WebDriver.class, String.class, String.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final ClassValue<PageMetadata> METADATA = new ClassValue<PageMetadata>() {
+        @Override
+        protected PageMetadata computeValue(Class<?> type) {
+            return new PageMetadata(type);
+        }
+    };
+
+    private final List<PageInitializer> generatedInitializers;
+    private final List<LocatorField> fields;
+    private final List<ReadinessField> readinessFields;
+
+    private PageMetadata(Class<?> pageClass) {
+        List<PageInitializer> initializers = new ArrayList<>();
+        List<LocatorField> locatorFields = new ArrayList<>();
+        List<ReadinessField> requiredFields = new ArrayList<>();
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (Class<?> type = pageClass; type != null; type = type.getSuperclass()) {
+            PageInitializer initializer = findGeneratedInitializer(type);
+            if (initializer != null) {
+                initializers.add(initializer);
+            }
+            for (Field field : type.getDeclaredFields()) {
+                Locator annotation = field.getAnnotation(Locator.class);
+                if (annotation == null) {
+                    continue;
+                }
+                if (annotation.requiredForReady()) {
+                    requiredFields.add(new ReadinessField(field.getName(), resolveLocators(annotation)));
+                }
+                if (initializer == null) {
+                    locatorFields.add(new LocatorField(lookup, field, annotation));
+                }
+            }
+        }
+        generatedInitializers = Collections.unmodifiableList(initializers);
+        fields = Collections.unmodifiableList(locatorFields);
+        readinessFields = Collections.unmodifiableList(requiredFields);
+    }
+
+    private static PageInitializer findGeneratedInitializer(Class<?> type) {
+        if (type.getClassLoader() == null) {
+            return null;
+        }
+        String packageName = type.getPackage() == null ? "" : type.getPackage().getName();
+        String nestedName = packageName.isEmpty() ? type.getName() : type.getName().substring(packageName.length() + 1);
+        String simpleName = nestedName.replace('$', '_') + PageInitializer.CLASS_SUFFIX;
+        try {
+            Class<?> initializer = Class.forName(packageName.isEmpty() ? simpleName : packageName + "." + simpleName,
+                    true, type.getClassLoader());
+            return PageInitializer.class.isAssignableFrom(initializer)
+                    ? (PageInitializer) initializer.getDeclaredConstructor().newInstance() : null;
+        } catch (ClassNotFoundException exception) {
+            return null;
+        } catch (ReflectiveOperationException exception) {
+            throw new RuntimeException("Could not instantantiate object" + ERROR_DESCRIPTION + exception, exception);
+        }
+    }
+
+    /** Provides metadata of given page class, resolving it on the first call. */
+    static PageMetadata of(Class<?> pageClass) {
+        return METADATA.get(pageClass);
+    }
+
+    /** Resolves locators of the annotation for every {@link Device}, indexed by ordinal. */
+    private static String[] resolveLocators(Locator annotation) {
+        String[] locators = new String[Device.values().length];
+        locators[Device.DESKTOP.ordinal()] = annotation.main();
+        locators[Device.MOBILE.ordinal()] = annotation.mobile().isEmpty() ? annotation.main() : annotation.mobile();
+        locators[Device.TABLET.ordinal()] = annotation.mobile().isEmpty() ? annotation.main() : annotation.tablet();
+        return locators;
+    }
+
+    /**
+     * Provides locators of fields marked with {@link Locator#requiredForReady()}.
+     *
+     * @return Field names and their locators for given platform, in the order of declaration.
+     */
+    Map<String, String> getReadinessLocators(Device platform) {
+        Map<String, String> locators = new LinkedHashMap<>();
+        for (ReadinessField field : readinessFields) {
+            locators.put(field.name, field.locators[platform.ordinal()]);
+        }
+        return locators;
+    }
+
+    /** Number of classes of the hierarchy which are initialized by generated {@link PageInitializer}. */
+    int getGeneratedInitializersCount() {
+        return generatedInitializers.size();
+    }
+
+    /** Number of fields annotated with {@link Locator} which are initialized through method handles. */
+    int getFieldsCount() {
+        return fields.size();
+    }
+
+    /**
+     * Creates {@link WebObject}s for all annotated fields of the page.
+     *
+     * @param page
+     *          Instance of the class this metadata belongs to.
+     * @param platform
+     *          Platform which defines locators to use.
+     */
+    void initialize(Object page, WebDriver driver, Device platform) {
+        for (PageInitializer initializer : generatedInitializers) {
+            initializer.initialize(page, driver, platform);
+        }
+        for (LocatorField field : fields) {
+            field.initialize(page, driver, platform);
+        }
+    }
+
+    /** Annotated field together with its resolved locators and handles. */
+    private static final class LocatorField {
+        private final String name;
+        private final String[] locators;
+        private final MethodHandle factory;
+        private final MethodHandle setter;
+
+        private LocatorField(MethodHandles.Lookup lookup, Field field, Locator annotation) {
+            name = field.getName();
+            locators = resolveLocators(annotation);
+            try {
+                field.setAccessible(true);
+                setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+                factory = lookup.findConstructor(field.getType(), CONSTRUCTOR_TYPE).asType(FACTORY_TYPE);
+            } catch (NoSuchMethodException exception) {
+                throw new RuntimeException("Method specified not found" + ERROR_DESCRIPTION + exception, exception);
+            } catch (IllegalAccessException exception) {
+                throw new RuntimeException("Could not access data member" + ERROR_DESCRIPTION + exception, exception);
+            } catch (SecurityException exception) {
+                throw new RuntimeException("Security error occured" + ERROR_DESCRIPTION + exception, exception);
+            }
+        }
+
+        private void initialize(Object page, WebDriver driver, Device platform) {
+            try {
+                Object webObject = (Object) factory.invokeExact(driver, locators[platform.ordinal()], name);
+                setter.invokeExact(page, webObject);
+            } catch (RuntimeException | Error exception) {
+                throw exception;
+            } catch (Throwable exception) {
+                throw new RuntimeException("Invocation error occured" + ERROR_DESCRIPTION + exception, exception);
+            }
+        }
+    }
+
+    /** Field which must be visible before the page is ready. */
+    private static final class ReadinessField {
+        private final String name;
+        private final String[] locators;
+
+        private ReadinessField(String name, String[] locators) {
+            this.name = name;
+            this.locators = locators;
+        }
+    }
+}
@@ -18,7 +18,8 @@ public enum BrowserType {
 	IE,
 	MOBILE_CHROME,
 	MOBILE_SAFARI,
-	FIREFOX_NO_GRID;
+	FIREFOX_NO_GRID,
+	HTMLUNIT;
 
 	private static Map<String, BrowserType> browsersMap = new HashMap<String, BrowserType>();
 
@@ -31,6 +32,7 @@ public enum BrowserType {
 		browsersMap.put("chrome", BrowserType.CHROME);
 		browsersMap.put("safari", BrowserType.SAFARI);
 		browsersMap.put("ie", BrowserType.IE);
+		browsersMap.put("htmlunit", BrowserType.HTMLUNIT);
 	}
 
 	/**
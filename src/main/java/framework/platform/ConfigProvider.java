@@ -6,8 +6,14 @@ import java.util.Properties;
 
 /**
  * Utilitarian class which provides initialization of all project properties as well access to them.
+ * <p>
+ *     Properties are read once into an immutable snapshot which is shared by all threads. Use {@link #get()} to access
+ *     current snapshot and {@link #reload()} to re-read properties explicitly.
  */
-public class ConfigProvider {
+public final class ConfigProvider {
+
+	private static final String DEFAULT_PROPERTIES_FILE = "selenium.properties";
+	private static volatile ConfigProvider snapshot;
 
 	private final Properties properties = new Properties();
 
@@ -21,22 +27,41 @@ public class ConfigProvider {
 	private final String platformVersion;
 	private final String device;
 	private final String browser;
+	private final BrowserType browserType;
 	private final String environment;
 	private final String project;
 	private final String headerAuth;
 	private final String defaultUserPassword;
 	private final String mainUser;
 	private final String appiumUrl;
-	private final String threadsCount;
+	private final int threadsCount;
+	private final int sessionMaxUses;
+	private final boolean sessionPrewarm;
+	private final boolean htmlUnitJavascript;
+	private final int sessionIdleTimeout;
+	private final int sessionReaperInterval;
+	private final int sessionCreateRetries;
+	private final int sessionCreateBackoff;
+	private final int sessionCreateMaxBackoff;
+	private final int sessionCreateDeadline;
+	private final int elementCacheTtl;
+	private final int implicitWait;
+	private final int elementWaitTimeout;
+	private final int retryAttempts;
+	private final int retryBackoff;
 
 	/**
 	 * Constructor. Provides initialization of all class fields.
 	 */
-	public ConfigProvider() {
-		try (InputStream propertyStream = ConfigProvider.class.getResourceAsStream("/selenium.properties")) {
+	private ConfigProvider() {
+		String propertiesFile = System.getProperty("selenium.properties", DEFAULT_PROPERTIES_FILE);
+		try (InputStream propertyStream = ConfigProvider.class.getResourceAsStream("/" + propertiesFile)) {
+			if (propertyStream == null) {
+				throw new RuntimeException(propertiesFile + " was not found in classpath");
+			}
 			properties.load(propertyStream);
 		} catch (IOException e) {
-			throw new RuntimeException("An error occurred while loading selenium.properties", e);
+			throw new RuntimeException("An error occurred while loading " + propertiesFile, e);
 		}
 		devPublicSiteUrl = getConfigParameter("dev.public.site.url");
 		qaPublicSiteUrl = getConfigParameter("qa.public.site.url");
@@ -51,10 +76,54 @@ public class ConfigProvider {
 		project = getConfigParameter("project", "rozetka");
 		environment = getConfigParameter("environment", "prod");
 		browser = getConfigParameter("selenium.browser");
+		browserType = BrowserType.Browser(browser);
 		headerAuth = getConfigParameter("header.auth", "");
 		mainUser = getConfigParameter("main.user", "");
 		defaultUserPassword = getConfigParameter("user.password", "");
-		threadsCount = getConfigParameter("thread.count", "1");
+		threadsCount = getIntConfigParameter("thread.count", "1");
+		sessionMaxUses = getIntConfigParameter("session.max.uses", "10");
+		sessionPrewarm = Boolean.parseBoolean(getConfigParameter("session.prewarm", "true"));
+		htmlUnitJavascript = Boolean.parseBoolean(getConfigParameter("htmlunit.javascript", "true"));
+		sessionIdleTimeout = getIntConfigParameter("session.idle.timeout", "600");
+		sessionReaperInterval = getIntConfigParameter("session.reaper.interval", "30");
+		sessionCreateRetries = getIntConfigParameter("session.create.retries", "3");
+		sessionCreateBackoff = getIntConfigParameter("session.create.backoff", "1000");
+		sessionCreateMaxBackoff = getIntConfigParameter("session.create.max.backoff", "30000");
+		sessionCreateDeadline = getIntConfigParameter("session.create.deadline", "300");
+		elementCacheTtl = getIntConfigParameter("element.cache.ttl", "2000");
+		implicitWait = getIntConfigParameter("implicit.wait", "10");
+		elementWaitTimeout = getIntConfigParameter("element.wait.timeout", "10000");
+		retryAttempts = getIntConfigParameter("retry.attempts", "5");
+		retryBackoff = getIntConfigParameter("retry.backoff", "100");
+	}
+
+	/**
+	 * Provides current configuration snapshot. Properties are read on the first call only.
+	 *
+	 * @return Configuration which is shared by all threads.
+	 */
+	public static ConfigProvider get() {
+		ConfigProvider current = snapshot;
+		if (current == null) {
+			synchronized (ConfigProvider.class) {
+				if (snapshot == null) {
+					snapshot = new ConfigProvider();
+				}
+				current = snapshot;
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Re-reads properties and replaces current configuration snapshot. Threads which already hold previous snapshot
+	 * keep working with it.
+	 *
+	 * @return New configuration snapshot.
+	 */
+	public static synchronized ConfigProvider reload() {
+		snapshot = new ConfigProvider();
+		return snapshot;
 	}
 
 	public String getAppiumUrl() {
@@ -97,6 +166,10 @@ public class ConfigProvider {
 		return browser;
 	}
 
+	public BrowserType getBrowserType() {
+		return browserType;
+	}
+
 	private String getConfigParameter(String key) {
 		return getConfigParameter(key, null);
 	}
@@ -114,6 +187,15 @@ public class ConfigProvider {
 		return value;
 	}
 
+	private int getIntConfigParameter(String key, String defaultValue) {
+		String value = getConfigParameter(key, defaultValue);
+		try {
+			return Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			throw new RuntimeException("Configuration value for key '" + key + "' is not a number: " + value, e);
+		}
+	}
+
 	public String getProject() {
 		return project;
 	}
@@ -138,8 +220,75 @@ public class ConfigProvider {
 		return device;
 	}
 
-	public String getThreadsCount() {
+	public int getThreadsCount() {
 		return threadsCount;
 	}
 
+	public int getSessionMaxUses() {
+		return sessionMaxUses;
+	}
+
+	public boolean isSessionPrewarm() {
+		return sessionPrewarm;
+	}
+
+	public boolean isHtmlUnitJavascript() {
+		return htmlUnitJavascript;
+	}
+
+	/** Time in seconds after which session without commands is reaped. */
+	public int getSessionIdleTimeout() {
+		return sessionIdleTimeout;
+	}
+
+	/** Time in seconds between checks for idle and orphaned sessions. */
+	public int getSessionReaperInterval() {
+		return sessionReaperInterval;
+	}
+
+	/** Number of retries after failed attempt to create session. */
+	public int getSessionCreateRetries() {
+		return sessionCreateRetries;
+	}
+
+	/** Initial delay in milliseconds between attempts to create session, doubled after every attempt. */
+	public int getSessionCreateBackoff() {
+		return sessionCreateBackoff;
+	}
+
+	/** Maximal delay in milliseconds between attempts to create session. */
+	public int getSessionCreateMaxBackoff() {
+		return sessionCreateMaxBackoff;
+	}
+
+	/** Time in seconds after which no more attempts to create session are made. */
+	public int getSessionCreateDeadline() {
+		return sessionCreateDeadline;
+	}
+
+	/** Time in milliseconds during which located element is reused by WebObject, 0 disables reuse. */
+	public int getElementCacheTtl() {
+		return elementCacheTtl;
+	}
+
+	/** Implicit wait of webdriver in seconds. With 0 all waiting is done by explicit waits. */
+	public int getImplicitWait() {
+		return implicitWait;
+	}
+
+	/** Time in milliseconds WebObject waits for element to appear when implicit wait is 0. */
+	public int getElementWaitTimeout() {
+		return elementWaitTimeout;
+	}
+
+	/** Number of attempts of WebObject operations which failed with recoverable exceptions. */
+	public int getRetryAttempts() {
+		return retryAttempts;
+	}
+
+	/** Delay in milliseconds before the first retry of WebObject operation, doubled after every retry. */
+	public int getRetryBackoff() {
+		return retryBackoff;
+	}
+
 }
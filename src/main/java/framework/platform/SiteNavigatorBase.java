@@ -3,10 +3,10 @@ package framework.platform;
 import framework.Logger;
 import framework.Settings;
 import framework.adapters.WebDriverManager;
+import framework.platform.html.support.ElementCache;
+import framework.platform.web.NetworkTracker;
 import org.openqa.selenium.support.PageFactory;
 
-import java.util.concurrent.TimeUnit;
-
 /**
  * This class provides methods for initialization of page objects.
  * <p>
@@ -24,14 +24,15 @@ public class SiteNavigatorBase {
     }
 
     public static void openPage(String url, String subDomain) {
-        Settings settings = new Settings();
-        String environment = settings.getModifiedUrl(subDomain);
+        new Settings();
+        String environment = Settings.getModifiedUrl(subDomain);
         Logger.info("Environment: " + environment);
         WebDriverManager.getDriver().navigate().to(environment);
+        ElementCache.invalidate(WebDriverManager.getDriver());
+        NetworkTracker.install(WebDriverManager.getDriver());
         if (Settings.isDesktop()) {
             WebDriverManager.getDriver().manage().window().maximize();
         }
-        WebDriverManager.getDriver().manage().timeouts().implicitlyWait(10, TimeUnit.SECONDS);
     }
 
     protected static <T> T goToPage(String page, Class<T> expectedPage) {
@@ -3,10 +3,20 @@ package framework.platform.html;
 import com.google.common.base.Optional;
 import framework.Logger;
 import framework.Settings;
-import framework.adapters.WebDriverManager;
 import framework.platform.BrowserType;
+import framework.platform.ConfigProvider;
+import framework.platform.html.support.AdaptiveWait;
+import framework.platform.html.support.ElementCache;
+import framework.platform.html.support.ElementFilter;
+import framework.platform.html.support.ElementProjection;
+import framework.platform.html.support.ElementState;
 import framework.platform.html.support.HtmlElementUtils;
+import framework.platform.html.support.RetryExhaustedException;
+import framework.platform.html.support.RetryPolicy;
+import framework.platform.html.support.WaitForAny;
 import framework.platform.utilities.Utils;
+import framework.platform.web.NetworkTracker;
+import framework.platform.web.PageReadiness;
 import org.apache.commons.lang.StringUtils;
 import org.openqa.selenium.By;
 import org.openqa.selenium.ElementNotVisibleException;
@@ -15,6 +25,7 @@ import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.NoAlertPresentException;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.NoSuchFrameException;
+import org.openqa.selenium.NotFoundException;
 import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.TimeoutException;
@@ -23,18 +34,19 @@ import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Action;
 import org.openqa.selenium.interactions.Actions;
-import org.openqa.selenium.remote.RemoteWebElement;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.FluentWait;
 import org.openqa.selenium.support.ui.Select;
 import org.openqa.selenium.support.ui.Wait;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * One of the framework core classes.
@@ -42,27 +54,124 @@ import java.util.concurrent.TimeUnit;
  * Object which is used to work with abstract HTML elements.
  */
 public class WebObject extends By {
+    private static final int MAX_FORMATTED_LOCATORS = 64;
+    private static final int NETWORK_IDLE_TIMEOUT = 10000;
+
     private String locator;
+    private volatile By compiledLocator;
+    private final Map<String, By> formattedLocators = new ConcurrentHashMap<>();
+    private volatile CachedElement cachedElement;
     private String controlName;
     private Map<String, String> propMap = new HashMap<>();
     private Optional<String> expectedErrorMessage;
     private WebDriver driver;
 
     /**
-     * Instance method used to call static class method locateElement.
+     * Instance method used to call static class method locateElement. Element is always located again, so callers get
+     * fresh element. When implicit wait is 0, waits for element up to {@code element.wait.timeout} milliseconds.
      *
      * @return the web element found by locator
      */
-    public RemoteWebElement getElement() {
-        RemoteWebElement foundElement = null;
+    public WebElement getElement() {
+        return locateElement(true, false);
+    }
+
+    /**
+     * Locates element for actions of this class. Element which was located previously is reused until page navigates
+     * or {@code element.cache.ttl} milliseconds expire, stale element is handled by {@link #withElement(Function)}.
+     */
+    private WebElement locateElement(boolean waitForElement) {
+        return locateElement(waitForElement, true);
+    }
+
+    private WebElement locateElement(boolean waitForElement, boolean useCache) {
+        if (useCache) {
+            String cacheKey = ElementCache.getKey(controlName, locator);
+            CachedElement cached = cachedElement;
+            if (cached != null && cached.isValid(driver)) {
+                ElementCache.hit(cacheKey);
+                return cached.element;
+            }
+            ElementCache.miss(cacheKey);
+        }
+        awaitPageReady();
+        WebElement foundElement = null;
         try {
-            foundElement = HtmlElementUtils.locateElement(driver, getLocator());
+            long epoch = ElementCache.getEpoch(driver);
+            foundElement = waitForElement
+                    ? waitForPresence(() -> HtmlElementUtils.locateElement(driver, getBy()))
+                    : HtmlElementUtils.locateElement(driver, getBy());
+            cachedElement = new CachedElement(foundElement, epoch);
         } catch (NoSuchElementException n) {
+            cachedElement = null;
             addInfoForNoSuchElementException(n);
         }
         return foundElement;
     }
 
+    /** Forgets element which was located previously, so that next call of {@link #getElement()} locates it again. */
+    public void invalidateElement() {
+        cachedElement = null;
+    }
+
+    /**
+     * Applies action to the element. If element became stale, it's located again and action is repeated according to
+     * {@link RetryPolicy}.
+     */
+    private <T> T withElement(Function<WebElement, T> action) {
+        return withElement(true, action);
+    }
+
+    private <T> T withElement(boolean waitForElement, Function<WebElement, T> action) {
+        return RetryPolicy.retryOn(StaleElementReferenceException.class).execute(
+                ElementCache.getKey(controlName, locator), "Action on element {" + locator + "}",
+                () -> action.apply(locateElement(waitForElement)), this::invalidateElement);
+    }
+
+    /**
+     * Applies operation to the list of elements retrying it with {@link RetryPolicy} if elements became stale or
+     * matching element is not found yet.
+     */
+    private <T> T withRecovery(String operation, Supplier<T> action) {
+        return RetryPolicy.retryOn(StaleElementReferenceException.class, java.util.NoSuchElementException.class)
+                .execute(ElementCache.getKey(controlName, locator), operation + " using the locator {" + locator + "}",
+                        action);
+    }
+
+    /** Evaluates predicate with {@link #withRecovery(String, Supplier)}, false if all attempts failed. */
+    private boolean testWithRecovery(String operation, Supplier<Boolean> predicate) {
+        try {
+            return withRecovery(operation, predicate);
+        } catch (RetryExhaustedException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Waits for element using explicit timeout if implicit wait is 0. Otherwise lookup is done once and waiting is left
+     * to the implicit wait of the driver.
+     */
+    private <T> T waitForPresence(Supplier<T> lookup) {
+        int timeout = ConfigProvider.get().getElementWaitTimeout();
+        if (!isZeroImplicitWait() || timeout <= 0) {
+            return lookup.get();
+        }
+        try {
+            return waitForElement(timeout)
+                    .ignoring(NoSuchElementException.class)
+                    .until((com.google.common.base.Function<WebDriver, T>) webDriver -> lookup.get());
+        } catch (TimeoutException e) {
+            if (e.getCause() instanceof NoSuchElementException) {
+                throw (NoSuchElementException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isZeroImplicitWait() {
+        return ConfigProvider.get().getImplicitWait() == 0;
+    }
+
     /**
      * Instance method used to call static class method locateElements.
      *
@@ -74,8 +183,9 @@ public class WebObject extends By {
 
     public List<WebElement> getElements(String value) {
         List<WebElement> foundElements = null;
+        awaitPageReady();
         try {
-            foundElements = HtmlElementUtils.locateElements(driver, String.format(locator, value));
+            foundElements = waitForPresence(() -> HtmlElementUtils.locateElements(driver, getBy(value)));
         } catch (NoSuchElementException n) {
             addInfoForNoSuchElementException(n);
         }
@@ -83,6 +193,61 @@ public class WebObject extends By {
         return foundElements;
     }
 
+    /**
+     * Locates elements and filters them in the browser, so only matching elements are transferred.
+     * <p>
+     * Elements are located by {@link #getElements()} first, so filtering takes two calls but keeps waiting for the
+     * elements to appear.
+     *
+     * @param filter
+     *          Criteria of elements (text, attributes, positions or child locator).
+     */
+    public List<WebElement> getElements(ElementFilter filter) {
+        List<WebElement> foundElements = getElements();
+        return foundElements == null ? null : filter.apply(driver, foundElements);
+    }
+
+    /**
+     * Locates elements without waiting (implicit wait is switched off for the lookup), used by queries which must not
+     * wait for elements to appear.
+     */
+    private List<WebElement> getElementsNow() {
+        awaitPageReady();
+        try {
+            return HtmlElementUtils.withoutImplicitWait(driver, () -> HtmlElementUtils.locateElements(driver, getBy()));
+        } catch (NoSuchElementException n) {
+            addInfoForNoSuchElementException(n);
+            return null;
+        }
+    }
+
+    /** Provides compiled locator of the element. Locator is compiled on the first call only. */
+    public By getBy() {
+        By by = compiledLocator;
+        if (by == null) {
+            by = HtmlElementUtils.resolveByType(locator);
+            compiledLocator = by;
+        }
+        return by;
+    }
+
+    /**
+     * Provides compiled locator formatted with given value. Locators are cached per value.
+     *
+     * @param value Value which is substituted into locator using {@link String#format(String, Object...)}.
+     */
+    public By getBy(String value) {
+        By by = formattedLocators.get(value);
+        if (by == null) {
+            if (formattedLocators.size() >= MAX_FORMATTED_LOCATORS) {
+                formattedLocators.clear();
+            }
+            by = HtmlElementUtils.resolveByType(String.format(locator, value));
+            formattedLocators.put(value, by);
+        }
+        return by;
+    }
+
     /**
      * A utility method to provide additional information to the user when a NoSuchElementException is thrown.
      *
@@ -155,7 +320,7 @@ public class WebObject extends By {
      * @return The innerText of this element.
      */
     public String getText() {
-        return getElement().getText();
+        return withElement(WebElement::getText);
     }
 
     /**
@@ -168,7 +333,7 @@ public class WebObject extends By {
     public boolean isElementPresent() {
         boolean returnValue = false;
         try {
-            if (getElement() != null) {
+            if (locateElement(false, false) != null) {
                 returnValue = true;
             }
         } catch (NoSuchElementException e) {
@@ -182,11 +347,13 @@ public class WebObject extends By {
      * TODO: Check for duplicate in comparison with method above.
      */
     public boolean isPresent() {
-        waitForJQueryComplete();
+        awaitPageReady();
             try {
-                return this.getElement() != null && (this.getElement().isDisplayed());
+                return withElement(false, WebElement::isDisplayed);
             } catch (NoSuchElementException var2) {
                 return var2.getCause().getMessage().contains("Element is not usable");
+            } catch (RetryExhaustedException var3) {
+                return false;
             }
     }
 
@@ -198,16 +365,37 @@ public class WebObject extends By {
      */
     public boolean isVisible() {
         try {
-            return getElement() != null && getElement().isDisplayed();
+            return withElement(false, WebElement::isDisplayed);
         } catch (ElementNotVisibleException var1) {
             return false;
         } catch (NoSuchElementException var2) {
             return false;
         } catch (StaleElementReferenceException var3) {
             return false;
+        } catch (RetryExhaustedException var4) {
+            return false;
         }
     }
 
+    /**
+     * Checks if element is present in the html dom right now. Never waits for element to appear: when implicit wait is
+     * not 0, it's switched off for the lookup.
+     *
+     * @return True if element is present, false otherwise.
+     */
+    public boolean isPresentNow() {
+        return HtmlElementUtils.withoutImplicitWait(driver, () -> !driver.findElements(getBy()).isEmpty());
+    }
+
+    /**
+     * Checks if element is absent in the html dom right now. Never waits for element to appear or disappear.
+     *
+     * @return True if element is absent, false otherwise.
+     */
+    public boolean isAbsent() {
+        return !isPresentNow();
+    }
+
     /**
      * Is the element currently enabled or not? This will generally return true for everything but disabled input
      * elements.
@@ -215,7 +403,7 @@ public class WebObject extends By {
      * @return True if element is enabled, false otherwise.
      */
     public boolean isEnabled() {
-        return getElement().isEnabled();
+        return withElement(WebElement::isEnabled);
     }
 
     /**
@@ -224,7 +412,7 @@ public class WebObject extends By {
      * @return True if element is selected, false otherwise.
      */
     public boolean isSelected() {
-        return getElement().isSelected();
+        return withElement(WebElement::isSelected);
     }
 
     /**
@@ -234,7 +422,7 @@ public class WebObject extends By {
      * @return True if element contains text, false otherwise.
      */
     public boolean isTextPresent(String text) {
-        return getElement().getText().contains(text);
+        return getText().contains(text);
     }
 
     public boolean isAllEnabled() {
@@ -307,13 +495,16 @@ public class WebObject extends By {
     }
 
     /**
-     * This method will return instance of {@link FluentWait} which can be used to wait until specific condition.
+     * This method will return instance of {@link AdaptiveWait} which can be used to wait until specific condition.
+     * Polling interval is adapted to the history of waits for this element.
      */
     public Wait<WebDriver> waitForCondition() {
-        return (new FluentWait(this.driver))
-                .withTimeout(30000L, TimeUnit.MILLISECONDS)
-                .pollingEvery(250L, TimeUnit.MILLISECONDS)
-                .ignoring(NoSuchElementException.class, NoSuchFrameException.class);
+        return waitForElement(30000L).ignoring(NoSuchElementException.class, NoSuchFrameException.class);
+    }
+
+    /** Creates {@link AdaptiveWait} with history of waits for this element and given timeout in milliseconds. */
+    private AdaptiveWait<WebDriver> waitForElement(long timeoutInMilliseconds) {
+        return new AdaptiveWait<>(driver, locator, timeoutInMilliseconds);
     }
 
     /**
@@ -367,7 +558,7 @@ public class WebObject extends By {
      * @return The attribute's current value or null if the value is not set.
      */
     public String getAttribute(String attributeName) {
-        return getElement().getAttribute(attributeName);
+        return withElement(element -> element.getAttribute(attributeName));
     }
 
     /**
@@ -375,7 +566,7 @@ public class WebObject extends By {
      * modified after the page has been loaded.
      */
     public String getCssValue(String cssValue) {
-        return getElement().getCssValue(cssValue);
+        return withElement(element -> element.getCssValue(cssValue));
     }
 
     /**
@@ -442,19 +633,10 @@ public class WebObject extends By {
      * This method will return first element from the select list.
      */
     public WebElement getFirstElementFromList() {
-        int counter = 0;
-        while (counter < 10) {
-            try {
-                return getElements()
-                        .stream()
-                        .findFirst()
-                        .get();
-            } catch (StaleElementReferenceException | java.util.NoSuchElementException e) {
-                counter++;
-                Logger.info(String.format("Trying to recover after Exception %s", e.getMessage()));
-            }
-        }
-        return null;
+        return withRecovery("getFirstElementFromList", () -> getElements()
+                .stream()
+                .findFirst()
+                .get());
     }
 
     /**
@@ -463,20 +645,10 @@ public class WebObject extends By {
      * @param filter - search criteria
      */
     public WebElement getFirstRelatedElementFromList(String filter) {
-        int counter = 0;
-
-        while (counter < 10) {
-            try {
-                return getElements()
-                        .stream().filter(tab -> tab.getText()
-                                .contains(filter))
-                        .findFirst().get();
-            } catch (StaleElementReferenceException | java.util.NoSuchElementException e) {
-                counter++;
-                Logger.info(String.format("Trying to recover after Exception %s", e.getMessage()));
-            }
-        }
-        return null;
+        return withRecovery("getFirstRelatedElementFromList", () -> getElements(ElementFilter.where()
+                .textContains(filter))
+                .stream()
+                .findFirst().get());
     }
 
     /**
@@ -486,21 +658,11 @@ public class WebObject extends By {
      * @param filter2 - second search criteria
      */
     public WebElement getFirstRelatedElementFromList(String filter1, String filter2) {
-        int counter = 0;
-
-        while (counter < 10) {
-            try {
-                return getElements()
-                        .stream().filter(tab ->
-                                tab.getText().contains(filter1)
-                                        && tab.getText().contains(filter2))
-                        .findFirst().get();
-            } catch (StaleElementReferenceException | java.util.NoSuchElementException e) {
-                counter++;
-                Logger.info(String.format("Trying to recover after Exception %s", e.getMessage()));
-            }
-        }
-        return null;
+        return withRecovery("getFirstRelatedElementFromList", () -> getElements(ElementFilter.where()
+                .textContains(filter1)
+                .textContains(filter2))
+                .stream()
+                .findFirst().get());
     }
 
     /**
@@ -508,19 +670,9 @@ public class WebObject extends By {
      * that contains given text.
      */
     public boolean isElementPresentInList(String filter) {
-        int counter = 0;
-
-        while (counter < 10) {
-            try {
-                return getElements()
-                        .stream()
-                        .anyMatch(row -> row.getText().contains(filter));
-            } catch (StaleElementReferenceException | java.util.NoSuchElementException e) {
-                counter++;
-                Logger.info(String.format("Trying to recover after Exception %s", e.getMessage()));
-            }
-        }
-        return false;
+        return testWithRecovery("isElementPresentInList", () -> !getElements(ElementFilter.where()
+                .textContains(filter))
+                .isEmpty());
     }
 
     /**
@@ -531,53 +683,35 @@ public class WebObject extends By {
      * @param filter2 - second search criteria
      */
     public boolean isElementPresentInList(String filter1, String filter2) {
-        int counter = 0;
-
-        while (counter < 10) {
-            try {
-                return getElements()
-                        .stream()
-                        .anyMatch(row -> row.getText().contains(filter1)
-                                && row.getText().contains(filter2));
-            } catch (StaleElementReferenceException | java.util.NoSuchElementException e) {
-                counter++;
-                Logger.info(String.format("Trying to recover after Exception %s", e.getMessage()));
-            }
-        }
-        return false;
+        return testWithRecovery("isElementPresentInList", () -> !getElements(ElementFilter.where()
+                .textContains(filter1)
+                .textContains(filter2))
+                .isEmpty());
     }
 
     /**
      * This method will return child element of {@link WebObject} which corresponds to given locator.
      */
     public WebElement getChildElement(String filter, By locator) {
-        int counter = 0;
-
-        while (counter < 10) {
-            try {
-                return getElements()
-                        .stream()
-                        .filter(tab ->
-                                tab.getText().contains(filter))
-                        .findFirst().get()
-                        .findElement(locator);
-            } catch (StaleElementReferenceException | java.util.NoSuchElementException e) {
-                counter++;
-                Logger.info(String.format("Trying to recover after Exception %s", e.getMessage()));
-            }
-        }
-        return null;
+        return withRecovery("getChildElement", () -> getElements(ElementFilter.where()
+                .textContains(filter))
+                .stream()
+                .findFirst().get()
+                .findElement(locator));
     }
 
     /**
      * The click function and wait for page to load
      */
     public void click() {
-        waitForJQueryComplete();
+        awaitPageReady();
         if (Settings.browser.equals(BrowserType.CHROME)) {
             scrollToElement();
         }
-        getElement().click();
+        withElement(element -> {
+            element.click();
+            return null;
+        });
     }
 
     /**
@@ -616,10 +750,12 @@ public class WebObject extends By {
      * This method will clear input field and send given text to it.
      */
     public void type(String value) {
-        waitForJQueryComplete();
-        RemoteWebElement element = getElement();
-        element.clear();
-        element.sendKeys(value);
+        awaitPageReady();
+        withElement(element -> {
+            element.clear();
+            element.sendKeys(value);
+            return null;
+        });
         waitForJQueryComplete();
     }
 
@@ -627,15 +763,20 @@ public class WebObject extends By {
      * This method will send given sequence of characters to the element.
      */
     public void sendKeys(CharSequence... keysToSend) {
-        getElement().sendKeys(keysToSend);
+        withElement(element -> {
+            element.sendKeys(keysToSend);
+            return null;
+        });
     }
 
     /**
      * This method will clear input field.
      */
     public void clear() {
-        RemoteWebElement element = getElement();
-        element.clear();
+        withElement(element -> {
+            element.clear();
+            return null;
+        });
         waitForJQueryComplete();
     }
 
@@ -658,29 +799,58 @@ public class WebObject extends By {
         return driver -> Boolean.valueOf(WebObject.this.isAllEnabled());
     }
 
-    /** Will wait until page is loaded completely and all instances of ajax
-     *  are finished their actions.
+    /**
+     * This method will wait until page has no network requests in flight and no network activity for specified time.
      */
-    private void waitForJQueryComplete() {
-        int sleepTime = 500;
-        JavascriptExecutor jse = (JavascriptExecutor) driver;
-        for (int i = 0; i < 5000 / sleepTime; i++) {
-            if ((Boolean) jse.executeScript(
-                         // && window.jQuery != undefined && jQuery.active == 0 (those can be used optionally)
-                    "return document.readyState == 'complete'")) {
-                return;
+    public WebObject waitForNetworkIdle(int quietMillis) {
+        if (!NetworkTracker.waitForNetworkIdle(driver, quietMillis, NETWORK_IDLE_TIMEOUT)) {
+            Logger.info("[WebObject] Network is still active, but trying to continue the test.");
+        }
+        return this;
+    }
+
+    /**
+     * This method will wait until any of given elements is visible, so flows with several possible outcomes (e.g.
+     * success panel or validation error) don't wait for the timeout of the wrong one. See {@link WaitForAny}.
+     *
+     * @param timeoutInMilliseconds
+     *                              Maximum timeout in milliseconds (1000 = 1 second)
+     * @return Element which became visible first.
+     * @throws IllegalArgumentException if no elements are given.
+     */
+    public static WebObject waitForAny(long timeoutInMilliseconds, WebObject... webObjects) {
+        if (webObjects == null || webObjects.length == 0) {
+            throw new IllegalArgumentException("At least one element to wait for is required");
+        }
+        Map<String, WebObject> byName = new LinkedHashMap<>();
+        for (WebObject webObject : webObjects) {
+            String baseName = webObject.getControlName() == null ? webObject.getLocator() : webObject.getControlName();
+            String name = baseName;
+            for (int suffix = 2; byName.containsKey(name); suffix++) {
+                name = baseName + "#" + suffix;
             }
-            hardwait();
+            byName.put(name, webObject);
+        }
+        WaitForAny wait = WaitForAny.of(webObjects[0].driver);
+        for (Map.Entry<String, WebObject> webObject : byName.entrySet()) {
+            wait.visible(webObject.getKey(), webObject.getValue());
         }
-        Logger.info("[WebObject] Wait for ajax encountered an error, but trying to continue the test.");
+        return byName.get(wait.await(timeoutInMilliseconds));
     }
 
-    //TODO
-    private void hardwait() {
-        try {
-            Thread.sleep(500L);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
+    /** Waits for the page once after navigation or page transition, see {@link PageReadiness#ensureReady}. */
+    private void awaitPageReady() {
+        if (!PageReadiness.ensureReady(driver, 5000)) {
+            Logger.info("[WebObject] Page is not ready, but trying to continue the test.");
+        }
+    }
+
+    /** Will wait until page is loaded completely and all instances of ajax
+     *  are finished their actions. Does nothing if browser can't execute javascript.
+     */
+    private void waitForJQueryComplete() {
+        if (!PageReadiness.waitUntilReady(driver, 5000)) {
+            Logger.info("[WebObject] Wait for ajax encountered an error, but trying to continue the test.");
         }
     }
 
@@ -698,14 +868,14 @@ public class WebObject extends By {
 
     /** This method will wait until element will be clickable. */
     public void waitUntilClickable() {
-        WebDriverWait wait = new WebDriverWait(driver, 10);
+        AdaptiveWait<WebDriver> wait = waitForElement(10000L).ignoring(NotFoundException.class);
         wait.until(ExpectedConditions.elementToBeClickable(getElement()));
     }
 
     /** This method will wait until element will be invisible. */
     public void waitUntilInvisible() {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, 30);
+            AdaptiveWait<WebDriver> wait = waitForElement(30000L).ignoring(NotFoundException.class);
             if (locator.contains("css=") || locator.contains("id=")) {
                 String loc = locator.replaceAll("id=", "#").replaceAll("css=", "");
                 wait.until(ExpectedConditions.invisibilityOfElementLocated(By.cssSelector(loc)));
@@ -721,25 +891,25 @@ public class WebObject extends By {
 
     /** Wait until an element is no longer attached to the DOM. */
     public void waitUntilStalenessOfElement() {
-        WebDriverWait wait = new WebDriverWait(driver, 30);
+        AdaptiveWait<WebDriver> wait = waitForElement(30000L).ignoring(NotFoundException.class);
         wait.until(ExpectedConditions.stalenessOf(getElement()));
     }
 
     /** An expectation for checking that an element, known to be present on the DOM of a page, is visible. */
     public void waitUntilElementIsVisible() {
-        WebDriverWait wait = new WebDriverWait(driver, 30);
+        AdaptiveWait<WebDriver> wait = waitForElement(30000L).ignoring(NotFoundException.class);
         wait.until(ExpectedConditions.visibilityOf(getElement()));
     }
 
     /** An expectation for checking that all elements present on the web page that match the locator are visible. */
     public void waitUntilVisibilityOfAllElements() {
-        WebDriverWait wait = new WebDriverWait(driver, 10);
+        AdaptiveWait<WebDriver> wait = waitForElement(10000L).ignoring(NotFoundException.class);
         wait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(By.cssSelector(locator)));
     }
 
     /** An expectation for checking that there is at least one element present on a web page. */
     public void waitUntilPresenceOfAllElements() {
-        WebDriverWait wait = new WebDriverWait(driver, 10);
+        AdaptiveWait<WebDriver> wait = waitForElement(10000L).ignoring(NotFoundException.class);
         wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(By.cssSelector(locator)));
     }
 
@@ -751,65 +921,90 @@ public class WebObject extends By {
     /** This method will return number of elements on page. */
     public int getElementsCount() {
         try {
-            return getElements().size();
+            return getElementsNow().size();
         } catch (NoSuchElementException ignored) {
             return 0;
         }
     }
 
+    /**
+     * Collects visibility, geometry and enabled state of all elements matching locator in one javascript call.
+     *
+     * @return States of elements in the page order, or empty list if no elements are found.
+     */
+    public List<ElementState> getElementStates() {
+        List<WebElement> elements;
+        try {
+            elements = getElementsNow();
+        } catch (NoSuchElementException ignored) {
+            return new ArrayList<>();
+        }
+        try {
+            return ElementState.collect(driver, elements);
+        } catch (StaleElementReferenceException e) {
+            return ElementState.collect(driver, getElementsNow());
+        }
+    }
+
+    /**
+     * Reads given fields of all elements matching locator in one javascript call, e.g. {@code getFields("text", "href",
+     * "data-id")}.
+     *
+     * @param fields
+     *          {@value ElementProjection#TEXT} for visible text, or names of attributes.
+     * @return Rows of field values, one row per element in the page order.
+     */
+    public List<Map<String, String>> getFields(String... fields) {
+        return withRecovery("getFields", () -> ElementProjection.collect(driver, getElements(), fields));
+    }
+
+    /** This method will return visible texts of all elements matching locator. */
+    public List<String> getTexts() {
+        return getAttributes(ElementProjection.TEXT);
+    }
+
+    /** This method will return specified attribute of all elements matching locator. */
+    public List<String> getAttributes(String attribute) {
+        return withRecovery("getAttributes", () -> ElementProjection.collectField(driver, getElements(), attribute));
+    }
+
     /** This method will return number of visible elements on page. */
     public int getVisibleElementsCount() {
-        int numberOfVisibleElements = 0;
-        for (int elementNumber = 0; elementNumber <= getElementsCount() - 1; elementNumber++) {
-            try {
-                getElements().get(elementNumber).isDisplayed(); //is it will pass this step element is visible
-                if (!getElements().get(elementNumber).getAttribute("style").contains("display: none;")) {
-                    if (!getElements().get(elementNumber).getSize().toString().equals("(0, 0)")) {
-                        numberOfVisibleElements++;
-                    }
-                }
-            } catch (Exception ignored) {
-                Logger.info("Element number " + elementNumber + " not visible");
-            }
-        }
-        return numberOfVisibleElements;
+        return (int) getElementStates().stream().filter(ElementState::isVisible).count();
     }
 
     /** This method will return number elements on page which are both visible and clickable. */
     public int getNumberOfVisibleAndClickableElements() {
         Logger.info("Getting number of clickable and visible elements");
-        int numberOfVisibleElements = 0;
-        for (WebElement element : getElements()) {
-            try {
-                WebDriverWait wait = new WebDriverWait(driver, 1);
-                wait.until(ExpectedConditions.elementToBeClickable(element));
-                numberOfVisibleElements++;
-            } catch (TimeoutException ignored) {
-                Logger.debug("element is not visible");
-            }
-        }
+        int numberOfVisibleElements = (int) getElementStates().stream().filter(ElementState::isClickable).count();
         Logger.info("Number of visible elements: " + numberOfVisibleElements);
         return numberOfVisibleElements;
     }
 
-    /** This method will return first found visible and also clickable element on page. */
+    /**
+     * This method will return number of first found visible and also clickable element on page, waiting up to one
+     * second for such element to appear.
+     *
+     * @return Number of element starting from 1, or -1 if there is no clickable element.
+     */
     public int getFirstVisibleAndClickableElement() {
         Logger.info("Getting current first clickable element");
-        int elementNumber = 1;
-        WebDriverManager.getDriver().manage().timeouts().implicitlyWait(0, TimeUnit.SECONDS); //need that to avoid waiting for 10 seconds in try each time
-        for (WebElement element : getElements()) {
-            try {
-                WebDriverWait wait = new WebDriverWait(driver, 1);
-                wait.until(ExpectedConditions.elementToBeClickable(element));
-                Logger.info("First Clickable element number is " + elementNumber);
-                WebDriverManager.getDriver().manage().timeouts().implicitlyWait(10, TimeUnit.SECONDS);
-                return elementNumber;
-            } catch (TimeoutException ignored) {
-                elementNumber++;
-            }
+        try {
+            int elementNumber = new AdaptiveWait<>(this, locator, 1000L)
+                    .until((com.google.common.base.Function<WebObject, Integer>) webObject -> {
+                        List<ElementState> states = webObject.getElementStates();
+                        for (int i = 0; i < states.size(); i++) {
+                            if (states.get(i).isClickable()) {
+                                return i + 1;
+                            }
+                        }
+                        return null;
+                    });
+            Logger.info("First Clickable element number is " + elementNumber);
+            return elementNumber;
+        } catch (TimeoutException ignored) {
+            return -1;
         }
-        WebDriverManager.getDriver().manage().timeouts().implicitlyWait(10, TimeUnit.SECONDS);
-        return -1; //will not get here
     }
 
     /** This method will execute click on element with given number. */
@@ -825,9 +1020,13 @@ public class WebObject extends By {
         return getElements().get(number).getAttribute(attribute);
     }
 
-    /** This method will execute click using javascript on the element. */
+    /** This method will execute click using javascript on the element, or usual click if javascript is disabled. */
     public void clickWithJS() {
-        waitForJQueryComplete();
+        if (!Utils.isJavascriptEnabled(driver)) {
+            click();
+            return;
+        }
+        awaitPageReady();
         waitFor(500);
         JavascriptExecutor jse = (JavascriptExecutor) driver;
         if (locator.contains("xpath=") || locator.contains("//")) {
@@ -838,8 +1037,11 @@ public class WebObject extends By {
         }
     }
 
-    /** This method will scroll page to the element. */
+    /** This method will scroll page to the element. Does nothing if browser can't execute javascript. */
     public void scrollToElement() {
+        if (!Utils.isJavascriptEnabled(driver)) {
+            return;
+        }
         int elementY = getElement().getLocation().getY();
         int currentLocation = Integer.parseInt(Utils.getJSResult("return document.documentElement.scrollTop;"));
         int visibleY = (Settings.isDesktop()) ? 800 : 500;
@@ -878,4 +1080,21 @@ public class WebObject extends By {
     public String getHrefOfElementNumber(int element) {
         return getElements().get(element - 1).getAttribute("href");
     }
+
+    /** Element located by {@link WebObject} together with the moment it was located. */
+    private static class CachedElement {
+        private final WebElement element;
+        private final long epoch;
+        private final long locatedAt = System.currentTimeMillis();
+
+        private CachedElement(WebElement element, long epoch) {
+            this.element = element;
+            this.epoch = epoch;
+        }
+
+        private boolean isValid(WebDriver driver) {
+            return System.currentTimeMillis() - locatedAt < ConfigProvider.get().getElementCacheTtl()
+                    && epoch == ElementCache.getEpoch(driver);
+        }
+    }
 }
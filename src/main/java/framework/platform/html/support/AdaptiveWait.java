@@ -0,0 +1,166 @@
+package framework.platform.html.support;
+
+import com.google.common.base.Function;
+import framework.Logger;
+import org.openqa.selenium.support.ui.Duration;
+import org.openqa.selenium.support.ui.FluentWait;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.SystemClock;
+import org.openqa.selenium.support.ui.Wait;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Wait} which polls condition adaptively instead of using fixed interval.
+ * <p>
+ *     Polling starts with short interval and backs off exponentially. Initial interval is seeded by history of waits
+ *     with the same key (usually locator of the element): conditions which resolve fast are polled often, slow ones
+ *     are polled rarely, which cuts both latency and number of commands sent to the grid. Time spent and number of
+ *     polls are recorded for every wait.
+ */
+public class AdaptiveWait<T> implements Wait<T> {
+    private static final long MIN_INTERVAL_MILLIS = 20;
+    private static final long MAX_INTERVAL_MILLIS = 1000;
+    private static final Map<String, History> histories = new ConcurrentHashMap<>();
+
+    private final String key;
+    private final long timeoutMillis;
+    private final FluentWait<T> wait;
+    private final AdaptiveSleeper sleeper;
+
+    /**
+     * Constructor.
+     *
+     * @param input
+     *          Object which is passed to the conditions, usually instance of webdriver.
+     * @param key
+     *          Key which identifies waits with similar duration, e.g. locator of the element.
+     * @param timeoutMillis
+     *          Maximum time of the wait in milliseconds.
+     */
+    public AdaptiveWait(T input, String key, long timeoutMillis) {
+        this.key = key;
+        this.timeoutMillis = timeoutMillis;
+        this.sleeper = new AdaptiveSleeper(getInitialInterval(key));
+        this.wait = new FluentWait<>(input, new SystemClock(), sleeper).withTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** Will ignore exceptions of given types thrown by conditions while waiting. */
+    @SafeVarargs
+    public final AdaptiveWait<T> ignoring(Class<? extends Throwable>... exceptionTypes) {
+        for (Class<? extends Throwable> exceptionType : exceptionTypes) {
+            wait.ignoring(exceptionType);
+        }
+        return this;
+    }
+
+    /** Will use given message for timeout exception. */
+    public AdaptiveWait<T> withMessage(String message) {
+        wait.withMessage(message);
+        return this;
+    }
+
+    @Override
+    public <V> V until(Function<? super T, V> isTrue) {
+        long start = System.currentTimeMillis();
+        sleeper.start(start + timeoutMillis);
+        boolean succeeded = false;
+        try {
+            V result = wait.until(isTrue);
+            succeeded = true;
+            return result;
+        } finally {
+            histories.computeIfAbsent(key, name -> new History())
+                    .record(System.currentTimeMillis() - start, sleeper.polls + 1, succeeded);
+        }
+    }
+
+    /** Provides initial polling interval based on average duration of the previous waits with the same key. */
+    static long getInitialInterval(String key) {
+        History history = histories.get(key);
+        if (history == null || history.averageMillis < 0) {
+            return MIN_INTERVAL_MILLIS;
+        }
+        return Math.max(MIN_INTERVAL_MILLIS, Math.min(MAX_INTERVAL_MILLIS, (long) history.averageMillis / 4));
+    }
+
+    /** Provides summary of all waits. */
+    public static String getSummary() {
+        long waits = 0;
+        long timeouts = 0;
+        long polls = 0;
+        long millis = 0;
+        for (History history : histories.values()) {
+            synchronized (history) {
+                waits += history.waits;
+                timeouts += history.timeouts;
+                polls += history.polls;
+                millis += history.totalMillis;
+            }
+        }
+        return String.format("waits: %d, timed out: %d, average time: %d ms, average polls: %.1f", waits, timeouts,
+                waits == 0 ? 0 : millis / waits, waits == 0 ? 0 : (double) polls / waits);
+    }
+
+    /** Logs time spent and number of polls per key. */
+    public static void logStatistics() {
+        Logger.info("[AdaptiveWait] " + getSummary());
+        for (Map.Entry<String, History> entry : new TreeMap<>(histories).entrySet()) {
+            History history = entry.getValue();
+            synchronized (history) {
+                Logger.debug(String.format("[AdaptiveWait] %s - waits: %d, timed out: %d, total: %d ms, polls: %d",
+                        entry.getKey(), history.waits, history.timeouts, history.totalMillis, history.polls));
+            }
+        }
+    }
+
+    /** Sleeper which doubles interval after every poll and never sleeps past the deadline. */
+    private static class AdaptiveSleeper implements Sleeper {
+        private final long initialInterval;
+        private long interval;
+        private long deadline;
+        private int polls;
+
+        private AdaptiveSleeper(long initialInterval) {
+            this.initialInterval = initialInterval;
+        }
+
+        private void start(long deadline) {
+            this.deadline = deadline;
+            this.interval = initialInterval;
+            this.polls = 0;
+        }
+
+        @Override
+        public void sleep(Duration duration) throws InterruptedException {
+            long remaining = deadline - System.currentTimeMillis();
+            Thread.sleep(Math.max(1, Math.min(interval, remaining)));
+            polls++;
+            interval = Math.min(interval * 2, MAX_INTERVAL_MILLIS);
+        }
+    }
+
+    /** Durations of waits with the same key. */
+    private static class History {
+        private static final double SMOOTHING = 0.3;
+
+        private volatile double averageMillis = -1;
+        private long waits;
+        private long timeouts;
+        private long polls;
+        private long totalMillis;
+
+        private synchronized void record(long millis, int pollCount, boolean succeeded) {
+            waits++;
+            polls += pollCount;
+            totalMillis += millis;
+            if (!succeeded) {
+                timeouts++;
+            }
+            averageMillis = averageMillis < 0 ? millis : averageMillis + SMOOTHING * (millis - averageMillis);
+        }
+    }
+}
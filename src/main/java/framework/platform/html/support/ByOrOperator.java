@@ -1,24 +1,146 @@
 package framework.platform.html.support;
 
+import framework.Logger;
+import framework.platform.utilities.Utils;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.WrapsDriver;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Extends {@link By} and provides a mechanism for locating an element from a list of {@link By}s where the element
  * found will be the first match in the list.
+ * <p>
+ * When operator is built from locator strings and browser can execute javascript, all alternatives are evaluated by
+ * one script in the browser. If nothing is found yet, single lookup which matches any alternative (CSS selector list
+ * or XPath union) is used to wait for elements, so implicit wait is spent once instead of once per alternative. Mixed
+ * strategies are waited for by one asynchronous script which polls all alternatives until implicit wait expires.
  */
 
 public class ByOrOperator extends By {
-    private List<By> bys;
+    /**
+     * Javascript function {@code find(strategy, value)} which finds elements under {@code root} using strategy returned
+     * by {@link HtmlElementUtils#getLocatorStrategy(String)}. Expects {@code root} and {@code doc} variables.
+     */
+    static final String FIND_FUNCTION =
+            "var toArray = function(nodes) {"
+            + "  var found = [];"
+            + "  for (var i = 0; i < nodes.length; i++) { found.push(nodes[i]); }"
+            + "  return found;"
+            + "};"
+            + "var quote = function(value) { return '\"' + value.replace(/\\\\/g, '\\\\\\\\').replace(/\"/g, '\\\\\"') + '\"'; };"
+            + "var find = function(strategy, value, root) {"
+            + "  if (strategy === 'xpath') {"
+            + "    var snapshot = doc.evaluate(value, root, null, 7, null), found = [];"
+            + "    for (var i = 0; i < snapshot.snapshotLength; i++) { found.push(snapshot.snapshotItem(i)); }"
+            + "    return found;"
+            + "  }"
+            + "  if (strategy === 'link') {"
+            + "    var links = toArray(root.getElementsByTagName('a')), matched = [];"
+            + "    for (var j = 0; j < links.length; j++) {"
+            + "      if ((links[j].textContent || '').replace(/^\\s+|\\s+$/g, '') === value) { matched.push(links[j]); }"
+            + "    }"
+            + "    return matched;"
+            + "  }"
+            + "  if (strategy === 'css') { return toArray(root.querySelectorAll(value)); }"
+            + "  if (strategy === 'id') { return toArray(root.querySelectorAll('[id=' + quote(value) + ']')); }"
+            + "  if (strategy === 'name') { return toArray(root.querySelectorAll('[name=' + quote(value) + ']')); }"
+            + "  return find('id', value, root).concat(find('name', value, root));"
+            + "};";
 
-    /** Constructor. */
+    private static final String FIND_FIRST_MATCH_SCRIPT =
+            "var alternatives = arguments[0], root = arguments[1] || document;"
+            + "var doc = root.ownerDocument || root;"
+            + FIND_FUNCTION
+            + "for (var k = 0; k < alternatives.length; k++) {"
+            + "  var elements = find(alternatives[k][0], alternatives[k][1], root);"
+            + "  if (elements.length > 0) { return [k, elements]; }"
+            + "}"
+            + "return [-1, []];";
+
+    private static final String AWAIT_FIRST_MATCH_SCRIPT =
+            "var alternatives = arguments[0], timeout = arguments[1], callback = arguments[arguments.length - 1];"
+            + "var root = arguments.length > 3 ? arguments[2] : document, doc = root.ownerDocument || root;"
+            + FIND_FUNCTION
+            + "var deadline = new Date().getTime() + timeout;"
+            + "var poll = function() {"
+            + "  for (var k = 0; k < alternatives.length; k++) {"
+            + "    var elements = find(alternatives[k][0], alternatives[k][1], root);"
+            + "    if (elements.length > 0) { callback([k, elements]); return; }"
+            + "  }"
+            + "  if (new Date().getTime() >= deadline) { callback([-1, []]); return; }"
+            + "  setTimeout(poll, 50);"
+            + "};"
+            + "poll();";
+
+    private final List<By> bys;
+    private final List<List<String>> alternatives;
+    private final By anyAlternative;
+
+    /** Constructor. Alternatives are tried one by one. */
     public ByOrOperator(List<By> bys) {
-        this.bys = bys;
+        this.bys = Collections.unmodifiableList(new ArrayList<>(bys));
+        this.alternatives = null;
+        this.anyAlternative = null;
+    }
+
+    private ByOrOperator(List<By> bys, List<List<String>> alternatives, By anyAlternative) {
+        this.bys = Collections.unmodifiableList(bys);
+        this.alternatives = Collections.unmodifiableList(alternatives);
+        this.anyAlternative = anyAlternative;
+    }
+
+    /**
+     * Creates operator from locator strings, so that all alternatives can be resolved in one browser round trip.
+     *
+     * @param locators - Strings that represent the means to locate element (could be id/name/xpath/css locator).
+     */
+    public static ByOrOperator fromLocators(List<String> locators) {
+        List<List<String>> alternatives = new ArrayList<>();
+        for (String locator : locators) {
+            alternatives.add(Collections.unmodifiableList(Arrays.asList(HtmlElementUtils.getLocatorStrategy(locator))));
+        }
+        return fromAlternatives(alternatives);
+    }
+
+    /** Creates operator from alternatives returned by {@link HtmlElementUtils#resolveAlternatives(String)}. */
+    static ByOrOperator fromAlternatives(List<List<String>> alternatives) {
+        List<By> bys = new ArrayList<>();
+        List<String> cssSelectors = new ArrayList<>();
+        List<String> xpaths = new ArrayList<>();
+        for (List<String> strategy : alternatives) {
+            bys.add(HtmlElementUtils.toBy(strategy));
+            switch (strategy.get(0)) {
+                case "css":
+                    cssSelectors.add(strategy.get(1));
+                    break;
+                case "id":
+                case "name":
+                    cssSelectors.add("[" + strategy.get(0) + "=" + quoteCss(strategy.get(1)) + "]");
+                    break;
+                case "xpath":
+                    xpaths.add(strategy.get(1));
+                    break;
+                default:
+                    break;
+            }
+        }
+        By anyAlternative = null;
+        if (cssSelectors.size() == bys.size()) {
+            anyAlternative = By.cssSelector(String.join(", ", cssSelectors));
+        } else if (xpaths.size() == bys.size()) {
+            anyAlternative = By.xpath(String.join(" | ", xpaths));
+        }
+        return new ByOrOperator(bys, alternatives, anyAlternative);
     }
 
     /** Overload of the findElement method. Will return first element which have been found on page. */
@@ -34,18 +156,84 @@ public class ByOrOperator extends By {
     /** Overload of the findElements method. Will return all elements which have been found on page. */
     @Override
     public List<WebElement> findElements(SearchContext context) {
-        List<WebElement> result;
-        for (By by : bys) {
+        return findMatch(context).getElements();
+    }
+
+    /**
+     * Finds elements of the first alternative which matches anything on page.
+     *
+     * @return Match which tells which alternative won, or empty match with index -1 if nothing was found.
+     */
+    public Match findMatch(SearchContext context) {
+        WebDriver driver = getDriver(context);
+        if (driver != null && alternatives != null && Utils.isJavascriptEnabled(driver)) {
+            JavascriptExecutor executor = (JavascriptExecutor) driver;
+            try {
+                Match match = findMatchWithScript(executor, context);
+                if (match.getIndex() >= 0) {
+                    return match;
+                }
+                if (anyAlternative != null) {
+                    return anyAlternative.findElements(context).isEmpty()
+                            ? match : findMatchWithScript(executor, context);
+                }
+                long implicitWait = HtmlElementUtils.getImplicitWait(driver);
+                return implicitWait > 0 ? awaitMatchWithScript(executor, context, implicitWait) : match;
+            } catch (WebDriverException e) {
+                Logger.debug("Can not resolve " + this + " with javascript: " + e.getMessage());
+            }
+        }
+        return findMatchOneByOne(context);
+    }
+
+    /** Provides alternatives of the operator in the order they are tried. */
+    public List<By> getAlternatives() {
+        return bys;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Match findMatchWithScript(JavascriptExecutor executor, SearchContext context) {
+        Object[] arguments = context instanceof WebElement
+                ? new Object[] {alternatives, context} : new Object[] {alternatives};
+        List<Object> result = (List<Object>) executor.executeScript(FIND_FIRST_MATCH_SCRIPT, arguments);
+        int index = ((Number) result.get(0)).intValue();
+        return new Match(index, index < 0 ? null : bys.get(index), (List<WebElement>) result.get(1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Match awaitMatchWithScript(JavascriptExecutor executor, SearchContext context, long timeout) {
+        Object[] arguments = context instanceof WebElement
+                ? new Object[] {alternatives, timeout, context} : new Object[] {alternatives, timeout};
+        List<Object> result = (List<Object>) executor.executeAsyncScript(AWAIT_FIRST_MATCH_SCRIPT, arguments);
+        int index = ((Number) result.get(0)).intValue();
+        return new Match(index, index < 0 ? null : bys.get(index), (List<WebElement>) result.get(1));
+    }
+
+    private Match findMatchOneByOne(SearchContext context) {
+        for (int index = 0; index < bys.size(); index++) {
             try {
-                result = by.findElements(context);
+                List<WebElement> result = bys.get(index).findElements(context);
                 if (result != null && result.size() != 0) {
-                    return result;
+                    return new Match(index, bys.get(index), result);
                 }
             } catch (RuntimeException e) {
-                e.printStackTrace();
+                Logger.debug("Alternative " + bys.get(index) + " failed: " + e.getMessage());
             }
         }
-        return new ArrayList<>();
+        return new Match(-1, null, new ArrayList<>());
+    }
+
+    private static WebDriver getDriver(SearchContext context) {
+        if (context instanceof WebDriver) {
+            return (WebDriver) context;
+        } else if (context instanceof WebElement && context instanceof WrapsDriver) {
+            return ((WrapsDriver) context).getWrappedDriver();
+        }
+        return null;
+    }
+
+    private static String quoteCss(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
     }
 
     /** Overload of toString method. Will return string value of all {@link By} */
@@ -62,4 +250,33 @@ public class ByOrOperator extends By {
         stringBuilder.append("})");
         return stringBuilder.toString();
     }
+
+    /**
+     * Result of {@link #findMatch(SearchContext)}: elements found and the alternative which found them.
+     */
+    public static class Match {
+        private final int index;
+        private final By by;
+        private final List<WebElement> elements;
+
+        private Match(int index, By by, List<WebElement> elements) {
+            this.index = index;
+            this.by = by;
+            this.elements = elements;
+        }
+
+        /** Index of the alternative which found elements, -1 if nothing was found. */
+        public int getIndex() {
+            return index;
+        }
+
+        /** Alternative which found elements, null if nothing was found. */
+        public By getBy() {
+            return by;
+        }
+
+        public List<WebElement> getElements() {
+            return elements;
+        }
+    }
 }
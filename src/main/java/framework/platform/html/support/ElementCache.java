@@ -0,0 +1,93 @@
+package framework.platform.html.support;
+
+import framework.Logger;
+import framework.platform.html.WebObject;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Utilitarian class which supports caching of located elements in {@link WebObject}.
+ * <p>
+ *     Keeps navigation epoch of every webdriver session: elements located before the last navigation are not reused.
+ *     Collects numbers of cache hits and misses per control name, so it's visible how many remote calls were saved.
+ */
+public class ElementCache {
+    private static final Map<WebDriver, AtomicLong> navigationEpochs = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    /** Constructor. */
+    private ElementCache() {
+        //Utility class. Hide the constructor to prevent instantiation.
+    }
+
+    /** Provides navigation epoch of the session. Epoch changes every time {@link #invalidate(WebDriver)} is called. */
+    public static long getEpoch(WebDriver driver) {
+        AtomicLong epoch = navigationEpochs.get(driver);
+        return epoch == null ? 0 : epoch.get();
+    }
+
+    /** Invalidates all elements cached for the session, e.g. after navigation to another page. */
+    public static void invalidate(WebDriver driver) {
+        navigationEpochs.computeIfAbsent(driver, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    /** Records that cached element was reused. */
+    public static void hit(String controlName) {
+        getCounters(controlName).hits.incrementAndGet();
+    }
+
+    /** Records that element had to be located. */
+    public static void miss(String controlName) {
+        getCounters(controlName).misses.incrementAndGet();
+    }
+
+    /** Provides total number of cache hits. */
+    public static long getHits() {
+        return counters.values().stream().mapToLong(counter -> counter.hits.get()).sum();
+    }
+
+    /** Provides total number of cache misses. */
+    public static long getMisses() {
+        return counters.values().stream().mapToLong(counter -> counter.misses.get()).sum();
+    }
+
+    /** Provides numbers of cache hits and misses of specific control. */
+    public static long[] getCounters(WebObject webObject) {
+        Counters counter = counters.get(getKey(webObject.getControlName(), webObject.getLocator()));
+        return counter == null ? new long[2] : new long[] {counter.hits.get(), counter.misses.get()};
+    }
+
+    /** Provides summary of cache hits and misses. */
+    public static String getSummary() {
+        return String.format("hits: %d, misses: %d", getHits(), getMisses());
+    }
+
+    /** Logs numbers of cache hits and misses per control name. */
+    public static void logStatistics() {
+        Logger.info("[ElementCache] Element cache " + getSummary());
+        for (Map.Entry<String, Counters> entry : new TreeMap<>(counters).entrySet()) {
+            Logger.debug(String.format("[ElementCache] %s - hits: %d, misses: %d", entry.getKey(),
+                    entry.getValue().hits.get(), entry.getValue().misses.get()));
+        }
+    }
+
+    /** Provides key which is used to collect statistics of the control. */
+    public static String getKey(String controlName, String locator) {
+        return controlName != null ? controlName : locator;
+    }
+
+    private static Counters getCounters(String key) {
+        return counters.computeIfAbsent(key, name -> new Counters());
+    }
+
+    private static class Counters {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+    }
+}
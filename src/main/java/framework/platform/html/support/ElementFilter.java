@@ -0,0 +1,165 @@
+package framework.platform.html.support;
+
+import framework.platform.html.WebObject;
+import framework.platform.utilities.Utils;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Filter of element lists of {@link WebObject} which is evaluated in the browser.
+ * <p>
+ *     All criteria are checked by one javascript call, so only matching elements are returned instead of asking every
+ *     row for its text. Browsers without javascript are filtered with plain webdriver calls. Text of elements which
+ *     are not displayed is empty on both paths, like {@link WebElement#getText()}.
+ */
+public class ElementFilter {
+    private static final String FILTER_SCRIPT =
+            "var elements = arguments[0], filter = arguments[1], doc = document, matches = [];"
+            + ByOrOperator.FIND_FUNCTION
+            + ElementState.DISPLAYED_FUNCTION
+            + "var textOf = function(element) {"
+            + "  if (!isDisplayed(element)) { return ''; }"
+            + "  return (element.innerText !== undefined ? element.innerText : element.textContent) || '';"
+            + "};"
+            + "var last = Math.min(elements.length, filter.to);"
+            + "for (var i = filter.from; i < last; i++) {"
+            + "  var element = elements[i], text = filter.texts.length > 0 ? textOf(element) : '', matched = true;"
+            + "  for (var t = 0; matched && t < filter.texts.length; t++) {"
+            + "    matched = text.indexOf(filter.texts[t]) >= 0;"
+            + "  }"
+            + "  for (var a = 0; matched && a < filter.attributes.length; a++) {"
+            + "    matched = element.getAttribute(filter.attributes[a][0]) === filter.attributes[a][1];"
+            + "  }"
+            + "  if (!matched) { continue; }"
+            + "  if (filter.child) {"
+            + "    var children = find(filter.child[0], filter.child[1], element);"
+            + "    if (children.length > 0) { matches.push(children[0]); }"
+            + "  } else {"
+            + "    matches.push(element);"
+            + "  }"
+            + "}"
+            + "return matches;";
+
+    private final List<String> texts = new ArrayList<>();
+    private final List<List<String>> attributes = new ArrayList<>();
+    private int fromIndex = 0;
+    private int toIndex = Integer.MAX_VALUE;
+    private String childLocator;
+
+    /** Creates empty filter which matches all elements. */
+    public static ElementFilter where() {
+        return new ElementFilter();
+    }
+
+    /** Element matches if its visible text contains given text. */
+    public ElementFilter textContains(String text) {
+        texts.add(text);
+        return this;
+    }
+
+    /** Element matches if given attribute has exactly given value. */
+    public ElementFilter attributeEquals(String name, String value) {
+        attributes.add(Collections.unmodifiableList(Arrays.asList(name, value)));
+        return this;
+    }
+
+    /**
+     * Only elements with positions in the given range are checked.
+     *
+     * @param from
+     *          Index of the first element, starting from 0.
+     * @param to
+     *          Index after the last element.
+     */
+    public ElementFilter indexRange(int from, int to) {
+        fromIndex = Math.max(0, from);
+        toIndex = to;
+        return this;
+    }
+
+    /**
+     * Instead of matching element its first child found by given locator is returned. Elements without such child are
+     * skipped.
+     *
+     * @param locator - A String that represents the means to locate child (could be id/name/xpath/css locator).
+     */
+    public ElementFilter child(String locator) {
+        HtmlElementUtils.getLocatorStrategy(locator);
+        childLocator = locator;
+        return this;
+    }
+
+    /**
+     * Applies filter to the list of elements.
+     *
+     * @return Matching elements (or their children) in the order of the list.
+     */
+    @SuppressWarnings("unchecked")
+    public List<WebElement> apply(WebDriver driver, List<WebElement> elements) {
+        if (elements.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (!Utils.isJavascriptEnabled(driver)) {
+            return applyOneByOne(elements);
+        }
+        Map<String, Object> filter = new HashMap<>();
+        filter.put("texts", texts);
+        filter.put("attributes", attributes);
+        filter.put("from", fromIndex);
+        filter.put("to", (long) Math.min(toIndex, elements.size()));
+        if (childLocator != null) {
+            filter.put("child", Arrays.asList(HtmlElementUtils.getLocatorStrategy(childLocator)));
+        }
+        return (List<WebElement>) ((JavascriptExecutor) driver).executeScript(FILTER_SCRIPT, elements, filter);
+    }
+
+    private List<WebElement> applyOneByOne(List<WebElement> elements) {
+        List<WebElement> matches = new ArrayList<>();
+        for (int i = fromIndex; i < Math.min(toIndex, elements.size()); i++) {
+            WebElement element = elements.get(i);
+            if (!matches(element)) {
+                continue;
+            }
+            if (childLocator == null) {
+                matches.add(element);
+            } else {
+                List<WebElement> children = element.findElements(HtmlElementUtils.resolveByType(childLocator));
+                if (!children.isEmpty()) {
+                    matches.add(children.get(0));
+                }
+            }
+        }
+        return matches;
+    }
+
+    private boolean matches(WebElement element) {
+        if (!texts.isEmpty()) {
+            String text = element.getText();
+            for (String expected : texts) {
+                if (!text.contains(expected)) {
+                    return false;
+                }
+            }
+        }
+        for (List<String> attribute : attributes) {
+            if (!attribute.get(1).equals(element.getAttribute(attribute.get(0)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("texts: %s, attributes: %s, index range: [%d, %s), child: %s", texts, attributes,
+                fromIndex, toIndex == Integer.MAX_VALUE ? "end" : String.valueOf(toIndex), childLocator);
+    }
+}
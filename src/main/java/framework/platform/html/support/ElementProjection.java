@@ -0,0 +1,108 @@
+package framework.platform.html.support;
+
+import framework.platform.html.WebObject;
+import framework.platform.utilities.Utils;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads requested fields of all elements of {@link WebObject} by one javascript call.
+ * <p>
+ *     Field {@value #TEXT} is visible text of the element, any other field is read like
+ *     {@link WebElement#getAttribute(String)} does: property if element has such string property (e.g. resolved
+ *     {@code href}), attribute otherwise (e.g. {@code data-*} values).
+ */
+public class ElementProjection {
+    /** Name of the field which holds visible text of the element. */
+    public static final String TEXT = "text";
+
+    private static final String PROJECTION_SCRIPT =
+            "var elements = arguments[0], fields = arguments[1], rows = [];"
+            + "for (var i = 0; i < elements.length; i++) {"
+            + "  var element = elements[i], row = [];"
+            + "  for (var f = 0; f < fields.length; f++) {"
+            + "    var name = fields[f], value;"
+            + "    if (name === 'text') {"
+            + "      value = element.innerText !== undefined ? element.innerText : element.textContent;"
+            + "      value = value === null ? '' : value.replace(/^\\s+|\\s+$/g, '');"
+            + "    } else {"
+            + "      value = name.indexOf('data-') !== 0 && typeof element[name] === 'string'"
+            + "          ? element[name] : element.getAttribute(name);"
+            + "    }"
+            + "    row.push(value === undefined ? null : value);"
+            + "  }"
+            + "  rows.push(row);"
+            + "}"
+            + "return rows;";
+
+    private ElementProjection() {
+        //Utility class. Hide the constructor to prevent instantiation.
+    }
+
+    /**
+     * Reads fields of given elements. Uses single javascript call, or asks every element separately if browser can't
+     * execute javascript.
+     *
+     * @param fields
+     *          {@value #TEXT} or names of attributes to read.
+     * @return Rows with values of fields in the requested order, one row per element in the order of elements.
+     *          Missing attributes are null.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<Map<String, String>> collect(WebDriver driver, List<WebElement> elements, String... fields) {
+        List<Map<String, String>> rows = new ArrayList<>(elements.size());
+        if (elements.isEmpty() || fields.length == 0) {
+            for (int i = 0; i < elements.size(); i++) {
+                rows.add(Collections.emptyMap());
+            }
+            return rows;
+        }
+        if (!Utils.isJavascriptEnabled(driver)) {
+            for (WebElement element : elements) {
+                rows.add(of(element, fields));
+            }
+            return rows;
+        }
+        List<List<Object>> rawRows = (List<List<Object>>) ((JavascriptExecutor) driver)
+                .executeScript(PROJECTION_SCRIPT, elements, Arrays.asList(fields));
+        for (List<Object> rawRow : rawRows) {
+            Map<String, String> row = new LinkedHashMap<>();
+            for (int f = 0; f < fields.length; f++) {
+                Object value = rawRow.get(f);
+                row.put(fields[f], value == null ? null : String.valueOf(value));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Reads single field of given elements.
+     *
+     * @return Values of the field in the order of elements.
+     */
+    public static List<String> collectField(WebDriver driver, List<WebElement> elements, String field) {
+        List<String> values = new ArrayList<>(elements.size());
+        for (Map<String, String> row : collect(driver, elements, field)) {
+            values.add(row.get(field));
+        }
+        return values;
+    }
+
+    /** Reads fields of single element using plain webdriver calls. */
+    private static Map<String, String> of(WebElement element, String... fields) {
+        Map<String, String> row = new LinkedHashMap<>();
+        for (String field : fields) {
+            row.put(field, TEXT.equals(field) ? element.getText() : element.getAttribute(field));
+        }
+        return row;
+    }
+}
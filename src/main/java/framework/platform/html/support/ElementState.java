@@ -0,0 +1,151 @@
+package framework.platform.html.support;
+
+import framework.platform.html.WebObject;
+import framework.platform.utilities.Utils;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot of visibility, geometry and enabled state of a single element.
+ * <p>
+ *     States of all elements of {@link WebObject} are collected by one javascript call, so counting visible or
+ *     clickable elements doesn't query every element over the wire.
+ */
+public class ElementState {
+    /**
+     * Javascript functions {@code styleOf(element)} and {@code isDisplayed(element)}, the latter checks that element
+     * and all its parents are displayed.
+     */
+    static final String DISPLAYED_FUNCTION =
+            "var styleOf = function(element) {"
+            + "  return window.getComputedStyle ? window.getComputedStyle(element) : element.currentStyle || element.style;"
+            + "};"
+            + "var isDisplayed = function(element) {"
+            + "  var style = styleOf(element);"
+            + "  var displayed = style.display !== 'none' && style.visibility !== 'hidden'"
+            + "      && (element.offsetWidth > 0 || element.offsetHeight > 0 || element.getClientRects().length > 0);"
+            + "  for (var parent = element.parentElement; displayed && parent; parent = parent.parentElement) {"
+            + "    displayed = styleOf(parent).display !== 'none';"
+            + "  }"
+            + "  return displayed;"
+            + "};";
+
+    private static final String STATES_SCRIPT =
+            "var elements = arguments[0], states = [];"
+            + DISPLAYED_FUNCTION
+            + "var viewWidth = window.innerWidth || document.documentElement.clientWidth;"
+            + "var viewHeight = window.innerHeight || document.documentElement.clientHeight;"
+            + "for (var i = 0; i < elements.length; i++) {"
+            + "  var element = elements[i], style = styleOf(element);"
+            + "  var rect = element.getBoundingClientRect ? element.getBoundingClientRect() : {};"
+            + "  var width = Math.round(rect.width || element.offsetWidth || 0);"
+            + "  var height = Math.round(rect.height || element.offsetHeight || 0);"
+            + "  var displayed = isDisplayed(element);"
+            + "  states.push({displayed: displayed, display: style.display, width: width, height: height,"
+            + "      enabled: !element.disabled,"
+            + "      inViewport: rect.bottom > 0 && rect.right > 0 && rect.top < viewHeight && rect.left < viewWidth});"
+            + "}"
+            + "return states;";
+
+    private final boolean displayed;
+    private final String display;
+    private final int width;
+    private final int height;
+    private final boolean enabled;
+    private final boolean inViewport;
+
+    private ElementState(boolean displayed, String display, int width, int height, boolean enabled,
+                         boolean inViewport) {
+        this.displayed = displayed;
+        this.display = display;
+        this.width = width;
+        this.height = height;
+        this.enabled = enabled;
+        this.inViewport = inViewport;
+    }
+
+    /**
+     * Collects states of given elements. Uses single javascript call, or asks every element separately if browser
+     * can't execute javascript.
+     *
+     * @return States in the same order as elements.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<ElementState> collect(WebDriver driver, List<WebElement> elements) {
+        List<ElementState> states = new ArrayList<>(elements.size());
+        if (elements.isEmpty()) {
+            return states;
+        }
+        if (!Utils.isJavascriptEnabled(driver)) {
+            for (WebElement element : elements) {
+                states.add(of(element));
+            }
+            return states;
+        }
+        List<Map<String, Object>> rawStates = (List<Map<String, Object>>) ((JavascriptExecutor) driver)
+                .executeScript(STATES_SCRIPT, elements);
+        for (Map<String, Object> rawState : rawStates) {
+            states.add(new ElementState(Boolean.TRUE.equals(rawState.get("displayed")),
+                    String.valueOf(rawState.get("display")), toInt(rawState.get("width")),
+                    toInt(rawState.get("height")), Boolean.TRUE.equals(rawState.get("enabled")),
+                    Boolean.TRUE.equals(rawState.get("inViewport"))));
+        }
+        return states;
+    }
+
+    /** Collects state of single element using plain webdriver calls. */
+    private static ElementState of(WebElement element) {
+        try {
+            Dimension size = element.getSize();
+            return new ElementState(element.isDisplayed(), element.getCssValue("display"), size.getWidth(),
+                    size.getHeight(), element.isEnabled(), true);
+        } catch (StaleElementReferenceException e) {
+            return new ElementState(false, "none", 0, 0, false, false);
+        }
+    }
+
+    private static int toInt(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+
+    /** Element is visible if it's displayed and has non-zero size. */
+    public boolean isVisible() {
+        return displayed && !"none".equals(display) && (width > 0 || height > 0);
+    }
+
+    /** Element is clickable if it's visible and enabled. */
+    public boolean isClickable() {
+        return isVisible() && enabled;
+    }
+
+    public boolean isDisplayed() {
+        return displayed;
+    }
+
+    public String getDisplay() {
+        return display;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isInViewport() {
+        return inViewport;
+    }
+}
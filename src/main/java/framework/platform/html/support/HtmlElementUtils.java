@@ -1,18 +1,25 @@
 package framework.platform.html.support;
 
 import com.google.common.base.Preconditions;
+import framework.adapters.SessionRegistry;
+import framework.platform.ConfigProvider;
 import framework.platform.html.WebObject;
+import framework.platform.web.processor.LocatorSyntax;
 import org.apache.commons.lang.StringUtils;
 import org.openqa.selenium.By;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.remote.RemoteWebDriver;
-import org.openqa.selenium.remote.RemoteWebElement;
 import org.openqa.selenium.support.ByIdOrName;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Utilitarian class which serves as search engine of HTML elements for {@link WebObject}.
@@ -21,6 +28,8 @@ import java.util.List;
  */
 public class HtmlElementUtils {
     private static final String INVALID_LOCATOR_ERR_MSG = "Locator cannot be null (or) empty.";
+    private static final Set<WebDriver> sessionsWithoutImplicitWait =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
 
     /** Constructor. */
     private HtmlElementUtils() {
@@ -32,17 +41,22 @@ public class HtmlElementUtils {
      * {@link WebElement#findElement(By)} to locate the web element.
      *
      * @param locator - A String that represents the means to locate this element (could be id/name/xpath/css locator).
-     * @return - A {@link RemoteWebElement} that represents the html element that was located using the locator
+     * @return - A {@link WebElement} that represents the html element that was located using the locator
      * provided.
      */
-    public static RemoteWebElement locateElement(WebDriver driver, String locator) {
-        Preconditions.checkArgument(StringUtils.isNotBlank(locator), INVALID_LOCATOR_ERR_MSG);
-        By locatorBy = resolveByType(locator);
-        RemoteWebDriver rwd = (RemoteWebDriver) driver;
-
-        RemoteWebElement element = (RemoteWebElement) rwd.findElement(locatorBy);
+    public static WebElement locateElement(WebDriver driver, String locator) {
+        return locateElement(driver, resolveByType(locator));
+    }
 
-        return element;
+    /**
+     * Calls Selenium {@link WebElement#findElement(By)} with already compiled locator.
+     *
+     * @param locatorBy - A {@link By} object returned by {@link #resolveByType(String)}.
+     * @return - A {@link WebElement} that represents the html element that was located.
+     */
+    public static WebElement locateElement(WebDriver driver, By locatorBy) {
+        SessionRegistry.touch(driver);
+        return driver.findElement(locatorBy);
     }
 
     /**
@@ -53,40 +67,104 @@ public class HtmlElementUtils {
      * @return A {@link WebElement} list that represents the html elements that was located using the locator provided.
      */
     public static List<WebElement> locateElements(WebDriver driver, String locator) {
-        Preconditions.checkArgument(StringUtils.isNotBlank(locator), INVALID_LOCATOR_ERR_MSG);
-        By locatorBy = resolveByType(locator);
+        return locateElements(driver, resolveByType(locator));
+    }
+
+    /**
+     * Calls Selenium {@link WebElement#findElements(By)} with already compiled locator.
+     *
+     * @param locatorBy - A {@link By} object returned by {@link #resolveByType(String)}.
+     * @return A {@link WebElement} list that represents the html elements that was located.
+     */
+    public static List<WebElement> locateElements(WebDriver driver, By locatorBy) {
+        SessionRegistry.touch(driver);
 
-        RemoteWebDriver rwd = (RemoteWebDriver) driver;
-        List<WebElement> webElementsFound = rwd.findElements(locatorBy);
+        List<WebElement> webElementsFound = driver.findElements(locatorBy);
         if (webElementsFound.isEmpty()) {
-            throw new NoSuchElementException(generateUnsupportedLocatorMsg(locator));
+            throw new NoSuchElementException(generateUnsupportedLocatorMsg(locatorBy.toString()));
         }
         return webElementsFound;
     }
 
     /**
-     * Method to split the locator string with delimiter '|' to return a valid {@link By } type.
+     * Runs lookup with implicit wait of the session switched off, so it never waits for elements to appear.
+     *
+     * @param lookup - Lookup which uses the session.
+     * @return Result of the lookup.
+     */
+    public static <T> T withoutImplicitWait(WebDriver driver, Supplier<T> lookup) {
+        int implicitWait = ConfigProvider.get().getImplicitWait();
+        if (implicitWait == 0 || !sessionsWithoutImplicitWait.add(driver)) {
+            return lookup.get();
+        }
+        driver.manage().timeouts().implicitlyWait(0, TimeUnit.SECONDS);
+        try {
+            return lookup.get();
+        } finally {
+            sessionsWithoutImplicitWait.remove(driver);
+            driver.manage().timeouts().implicitlyWait(implicitWait, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Provides implicit wait which applies to lookups of the session right now.
+     *
+     * @return Implicit wait in milliseconds, 0 inside {@link #withoutImplicitWait(WebDriver, Supplier)}.
+     */
+    public static long getImplicitWait(WebDriver driver) {
+        return sessionsWithoutImplicitWait.contains(driver)
+                ? 0 : TimeUnit.SECONDS.toMillis(ConfigProvider.get().getImplicitWait());
+    }
+
+    /**
+     * Provides compiled {@link By} for the locator string. Locators are compiled once and kept in {@link LocatorCache}.
      *
      * @param locator - A String that represents the means to locate this element (could be id/name/xpath/css locator).
      * @return A {@link By} object that represents the actual locating strategy that would be employed.
      */
     public static By resolveByType(String locator) {
+        Preconditions.checkArgument(locator != null, INVALID_LOCATOR_ERR_MSG);
+        return LocatorCache.get(locator);
+    }
+
+    /**
+     * Provides alternatives of the locator string, the same ones {@link #resolveByType(String)} compiles. Alternatives
+     * are split once and kept in {@link LocatorCache}.
+     *
+     * @param locator - A String that represents the means to locate this element (could be id/name/xpath/css locator).
+     * @return Strategy and value of every alternative, see {@link #getLocatorStrategy(String)}.
+     */
+    public static List<List<String>> resolveAlternatives(String locator) {
+        Preconditions.checkArgument(locator != null, INVALID_LOCATOR_ERR_MSG);
+        return LocatorCache.getAlternatives(locator);
+    }
+
+    /**
+     * Method to split the locator string with delimiter '|' into strategies of its alternatives. Splits locator on
+     * every call, use {@link #resolveAlternatives(String)} to get cached instance.
+     *
+     * @param locator - A String that represents the means to locate this element (could be id/name/xpath/css locator).
+     * @return Unmodifiable list of strategy and value of every alternative.
+     */
+    public static List<List<String>> compileAlternatives(String locator) {
         Preconditions.checkArgument(StringUtils.isNotBlank(locator), INVALID_LOCATOR_ERR_MSG);
-        By locatorBy = null;
-        locator = locator.trim();
-
-        if (locator.indexOf("|") == -1) {
-            locatorBy = getFindElementType(locator);
-        } else {
-            String[] locators = locator.split("\\Q|\\E");
-            List<By> result = new ArrayList<>();
-            for (String temp : locators) {
-                result.add(getFindElementType(temp));
-            }
-            locatorBy = new ByOrOperator(result);
+        List<List<String>> alternatives = new ArrayList<>();
+        for (String alternative : LocatorSyntax.split(locator)) {
+            alternatives.add(Collections.unmodifiableList(Arrays.asList(getLocatorStrategy(alternative))));
         }
+        return Collections.unmodifiableList(alternatives);
+    }
 
-        return locatorBy;
+    /**
+     * Method to split the locator string with delimiter '|' to return a valid {@link By } type. Compiles locator on
+     * every call, use {@link #resolveByType(String)} to get cached instance.
+     *
+     * @param locator - A String that represents the means to locate this element (could be id/name/xpath/css locator).
+     * @return A {@link By} object that represents the actual locating strategy that would be employed.
+     */
+    public static By compileByType(String locator) {
+        List<List<String>> alternatives = resolveAlternatives(locator);
+        return alternatives.size() == 1 ? toBy(alternatives.get(0)) : ByOrOperator.fromAlternatives(alternatives);
     }
 
     /**
@@ -96,26 +174,37 @@ public class HtmlElementUtils {
      * @return The {@link By} sub-class that represents the actual location strategy that will be used.
      */
     public static By getFindElementType(String locator) {
-        Preconditions.checkArgument(StringUtils.isNotBlank(locator), INVALID_LOCATOR_ERR_MSG);
-        By valueToReturn = null;
-        locator = locator.trim();
-        if (locator.startsWith("id=")) {
-            valueToReturn = By.id(locator.substring("id=".length()));
-        } else if (locator.startsWith("name=")) {
-            valueToReturn = By.name(locator.substring("name=".length()));
-        } else if (locator.startsWith("link=")) {
-            valueToReturn = By.linkText(locator.substring("link=".length()));
-        } else if (locator.startsWith("xpath=")) {
-            valueToReturn = By.xpath(locator.substring("xpath=".length()));
-        } else if (locator.startsWith("/") || locator.startsWith("./")) {
-            valueToReturn = By.xpath(locator);
-        } else if (locator.startsWith("css=")) {
-            valueToReturn = By.cssSelector(locator.substring("css=".length()));
-        } else {
-            valueToReturn = new ByIdOrName(locator);
+        return toBy(Arrays.asList(getLocatorStrategy(locator)));
+    }
+
+    /** Creates {@link By} for strategy and value returned by {@link #getLocatorStrategy(String)}. */
+    static By toBy(List<String> strategy) {
+        switch (strategy.get(0)) {
+            case "id":
+                return By.id(strategy.get(1));
+            case "name":
+                return By.name(strategy.get(1));
+            case "link":
+                return By.linkText(strategy.get(1));
+            case "xpath":
+                return By.xpath(strategy.get(1));
+            case "css":
+                return By.cssSelector(strategy.get(1));
+            default:
+                return new ByIdOrName(strategy.get(1));
         }
+    }
 
-        return valueToReturn;
+    /**
+     * Splits locator string into location strategy and its value depending on what the locator string starts with.
+     * Syntax is shared with the build time validation, see {@link LocatorSyntax}.
+     *
+     * @param locator - A String that represents the means to locate this element (could be id/name/xpath/css locator).
+     * @return Array of strategy name (id, name, link, xpath, css or idOrName) and value.
+     */
+    public static String[] getLocatorStrategy(String locator) {
+        Preconditions.checkArgument(StringUtils.isNotBlank(locator), INVALID_LOCATOR_ERR_MSG);
+        return LocatorSyntax.parse(locator);
     }
 
     /** This method generates error message for unsupported locator. */
@@ -0,0 +1,96 @@
+package framework.platform.html.support;
+
+import org.openqa.selenium.By;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of compiled locators shared by all threads.
+ * <p>
+ *     Locator strings are split into alternatives and compiled into immutable {@link By} instances only once. When
+ *     cache is full, the least recently used locator is evicted.
+ */
+public class LocatorCache {
+    private static final int MAX_SIZE = 2048;
+
+    private static final Map<String, By> compiledLocators = newLruMap();
+    private static final Map<String, List<List<String>>> splitLocators = newLruMap();
+
+    /** Constructor. */
+    private LocatorCache() {
+        //Utility class. Hide the constructor to prevent instantiation.
+    }
+
+    private static <V> Map<String, V> newLruMap() {
+        return new LinkedHashMap<String, V>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > MAX_SIZE;
+            }
+        };
+    }
+
+    /**
+     * Provides compiled locator, compiling it on the first request.
+     *
+     * @param locator - A String that represents the means to locate this element (could be id/name/xpath/css locator).
+     * @return A {@link By} object that represents the actual locating strategy that would be employed.
+     */
+    public static By get(String locator) {
+        return getOrCompute(compiledLocators, locator, HtmlElementUtils::compileByType);
+    }
+
+    /**
+     * Provides alternatives of the locator, splitting it on the first request.
+     *
+     * @param locator - A String that represents the means to locate this element (could be id/name/xpath/css locator).
+     * @return Strategy and value of every alternative, see {@link HtmlElementUtils#compileAlternatives(String)}.
+     */
+    public static List<List<String>> getAlternatives(String locator) {
+        return getOrCompute(splitLocators, locator, HtmlElementUtils::compileAlternatives);
+    }
+
+    /**
+     * Adds alternatives split at build time, so the locator is not parsed at runtime. Used by initializers generated
+     * by {@code framework.platform.web.processor.LocatorProcessor}.
+     *
+     * @param alternatives
+     *          Strategy and value of every alternative of the locator.
+     */
+    public static void preload(String locator, String[][] alternatives) {
+        List<List<String>> split = new ArrayList<>();
+        for (String[] alternative : alternatives) {
+            split.add(Collections.unmodifiableList(Arrays.asList(alternative)));
+        }
+        synchronized (splitLocators) {
+            splitLocators.putIfAbsent(locator, Collections.unmodifiableList(split));
+        }
+    }
+
+    private static <V> V getOrCompute(Map<String, V> cache, String locator, Function<String, V> compiler) {
+        synchronized (cache) {
+            V value = cache.get(locator);
+            if (value != null) {
+                return value;
+            }
+        }
+        V value = compiler.apply(locator);
+        synchronized (cache) {
+            cache.put(locator, value);
+        }
+        return value;
+    }
+
+    /** Provides number of locators which are currently cached. */
+    public static int size() {
+        synchronized (compiledLocators) {
+            return compiledLocators.size();
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package framework.platform.html.support;
+
+import framework.Logger;
+import framework.platform.utilities.Utils;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Readiness contract of a page: document is loaded, ajax and network requests are finished and all required elements
+ * are visible.
+ * <p>
+ *     All predicates are evaluated by one asynchronous script which polls inside the browser and returns as soon as
+ *     all of them hold, instead of waiting for every element separately. On timeout the result tells which predicates
+ *     are still pending.
+ */
+public class ReadinessCheck {
+    /** Name of the predicate which holds when document is loaded completely. */
+    public static final String DOCUMENT = "document";
+    /** Name of the predicate which holds when there are no active jQuery requests. */
+    public static final String JQUERY = "jQuery";
+    /** Name of the predicate which holds when there are no requests tracked by network tracker in flight. */
+    public static final String NETWORK = "network";
+
+    private static final long POLLING_INTERVAL = 50;
+    private static final String AWAIT_SCRIPT =
+            "var conditions = arguments[0], timeout = arguments[1], token = arguments[2];"
+            + "var callback = arguments[arguments.length - 1];"
+            + "var doc = document, start = new Date().getTime(), satisfied = {}, polls = 0;"
+            + ByOrOperator.FIND_FUNCTION
+            + ElementState.DISPLAYED_FUNCTION
+            + "var isVisible = function(alternatives) {"
+            + "  for (var a = 0; a < alternatives.length; a++) {"
+            + "    var elements = find(alternatives[a][0], alternatives[a][1], document);"
+            + "    for (var e = 0; e < elements.length; e++) { if (isDisplayed(elements[e])) { return true; } }"
+            + "  }"
+            + "  return false;"
+            + "};"
+            + "var holds = function(name, value) {"
+            + "  if (value) {"
+            + "    if (satisfied[name] === undefined) { satisfied[name] = new Date().getTime() - start; }"
+            + "    return true;"
+            + "  }"
+            + "  return false;"
+            + "};"
+            + "var poll = function() {"
+            + "  var pending = [];"
+            + "  polls++;"
+            + "  if (!holds('document', document.readyState === 'complete')) { pending.push('document'); }"
+            + "  if (!holds('jQuery', !(window.jQuery && window.jQuery.active > 0))) { pending.push('jQuery'); }"
+            + "  if (!holds('network', !(window.__networkTracker && window.__networkTracker.inFlight() > 0))) {"
+            + "    pending.push('network');"
+            + "  }"
+            + "  for (var c = 0; c < conditions.length; c++) {"
+            + "    var visible = false;"
+            + "    try { visible = isVisible(conditions[c][1]); } catch (error) { visible = false; }"
+            + "    if (!holds(conditions[c][0], visible)) { pending.push(conditions[c][0]); }"
+            + "  }"
+            + "  var elapsed = new Date().getTime() - start;"
+            + "  if (pending.length === 0 || elapsed >= timeout) {"
+            + "    if (pending.length === 0 && token) { window.__readyToken = token; }"
+            + "    callback({pending: pending, satisfied: satisfied, elapsed: elapsed, polls: polls});"
+            + "    return;"
+            + "  }"
+            + "  setTimeout(poll, " + POLLING_INTERVAL + ");"
+            + "};"
+            + "poll();";
+
+    private final Map<String, String> requiredElements;
+    private final List<List<Object>> conditions = new ArrayList<>();
+
+    private ReadinessCheck(Map<String, String> requiredElements) {
+        this.requiredElements = Collections.unmodifiableMap(new LinkedHashMap<>(requiredElements));
+        for (Map.Entry<String, String> element : this.requiredElements.entrySet()) {
+            conditions.add(Arrays.asList(element.getKey(), HtmlElementUtils.resolveAlternatives(element.getValue())));
+        }
+    }
+
+    /**
+     * Creates readiness contract.
+     *
+     * @param requiredElements
+     *          Names of elements (e.g. field names) and their locators. Every element must be visible.
+     */
+    public static ReadinessCheck of(Map<String, String> requiredElements) {
+        return new ReadinessCheck(requiredElements);
+    }
+
+    /**
+     * Waits until all predicates hold. Uses one javascript call, or polls elements with plain webdriver calls if
+     * browser can't execute javascript.
+     *
+     * @param timeoutInMilliseconds
+     *                              Maximum timeout in milliseconds (1000 = 1 second)
+     * @return Result which tells whether page is ready and which predicates are still pending.
+     */
+    public Result await(WebDriver driver, long timeoutInMilliseconds) {
+        return await(driver, timeoutInMilliseconds, null);
+    }
+
+    /**
+     * Waits until all predicates hold and stamps the document with given token if they do, see
+     * {@link framework.platform.web.PageReadiness}.
+     *
+     * @param timeoutInMilliseconds
+     *                              Maximum timeout in milliseconds (1000 = 1 second)
+     * @param token
+     *          Value of {@code window.__readyToken} of the ready document, or null to leave the document as it is.
+     */
+    @SuppressWarnings("unchecked")
+    public Result await(WebDriver driver, long timeoutInMilliseconds, String token) {
+        if (!Utils.isJavascriptEnabled(driver)) {
+            return awaitOneByOne(driver, timeoutInMilliseconds);
+        }
+        try {
+            Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(
+                    AWAIT_SCRIPT, conditions, timeoutInMilliseconds, token == null ? "" : token);
+            Map<String, Long> satisfiedAfter = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> satisfied : ((Map<String, Object>) result.get("satisfied")).entrySet()) {
+                satisfiedAfter.put(satisfied.getKey(), ((Number) satisfied.getValue()).longValue());
+            }
+            return new Result((List<String>) result.get("pending"), satisfiedAfter,
+                    ((Number) result.get("elapsed")).longValue());
+        } catch (WebDriverException e) {
+            Logger.debug("[ReadinessCheck] Can not check readiness with javascript: " + e.getMessage());
+            return awaitOneByOne(driver, timeoutInMilliseconds);
+        }
+    }
+
+    private Result awaitOneByOne(WebDriver driver, long timeoutInMilliseconds) {
+        long start = System.currentTimeMillis();
+        Map<String, Long> satisfiedAfter = new LinkedHashMap<>();
+        List<String> pending;
+        while (true) {
+            pending = new ArrayList<>();
+            for (Map.Entry<String, String> element : requiredElements.entrySet()) {
+                if (isVisible(driver, element.getValue())) {
+                    satisfiedAfter.putIfAbsent(element.getKey(), System.currentTimeMillis() - start);
+                } else {
+                    pending.add(element.getKey());
+                }
+            }
+            if (pending.isEmpty() || System.currentTimeMillis() - start >= timeoutInMilliseconds) {
+                break;
+            }
+            try {
+                Thread.sleep(POLLING_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return new Result(pending, satisfiedAfter, System.currentTimeMillis() - start);
+    }
+
+    private static boolean isVisible(WebDriver driver, String locator) {
+        try {
+            for (WebElement element : driver.findElements(HtmlElementUtils.resolveByType(locator))) {
+                if (element.isDisplayed()) {
+                    return true;
+                }
+            }
+        } catch (WebDriverException ignored) {
+            // element disappeared while it was checked, it's not visible yet
+        }
+        return false;
+    }
+
+    /**
+     * Result of {@link #await(WebDriver, long)}.
+     */
+    public static class Result {
+        private final List<String> pending;
+        private final Map<String, Long> satisfiedAfter;
+        private final long elapsed;
+
+        private Result(List<String> pending, Map<String, Long> satisfiedAfter, long elapsed) {
+            this.pending = Collections.unmodifiableList(new ArrayList<>(pending));
+            this.satisfiedAfter = Collections.unmodifiableMap(satisfiedAfter);
+            this.elapsed = elapsed;
+        }
+
+        /** Page is ready if no predicate is pending. */
+        public boolean isReady() {
+            return pending.isEmpty();
+        }
+
+        /** Names of predicates which did not hold when waiting ended. */
+        public List<String> getPending() {
+            return pending;
+        }
+
+        /** Milliseconds after which every satisfied predicate held for the first time. */
+        public Map<String, Long> getSatisfiedAfter() {
+            return satisfiedAfter;
+        }
+
+        /** Time of waiting in milliseconds. */
+        public long getElapsed() {
+            return elapsed;
+        }
+
+        /** Name of the predicate which was satisfied last, or null if nothing was satisfied. */
+        public String getSlowest() {
+            String slowest = null;
+            long slowestTime = -1;
+            for (Map.Entry<String, Long> satisfied : satisfiedAfter.entrySet()) {
+                if (satisfied.getValue() > slowestTime) {
+                    slowest = satisfied.getKey();
+                    slowestTime = satisfied.getValue();
+                }
+            }
+            return slowest;
+        }
+
+        @Override
+        public String toString() {
+            return isReady()
+                    ? String.format("ready after %d ms, slowest: %s", elapsed, getSlowest())
+                    : String.format("not ready after %d ms, pending: %s", elapsed, pending);
+        }
+    }
+}
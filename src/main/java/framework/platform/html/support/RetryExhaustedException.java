@@ -0,0 +1,10 @@
+package framework.platform.html.support;
+
+/**
+ * Exception which is thrown by {@link RetryPolicy} when operation failed on every attempt.
+ */
+public class RetryExhaustedException extends RuntimeException {
+    public RetryExhaustedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,162 @@
+package framework.platform.html.support;
+
+import framework.Logger;
+import framework.platform.ConfigProvider;
+import framework.platform.html.WebObject;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Policy which retries operations of {@link WebObject} failed with recoverable exceptions, e.g. stale elements.
+ * <p>
+ *     Number of attempts and initial backoff are taken from {@code retry.attempts} and {@code retry.backoff}, backoff
+ *     doubles after every attempt. When all attempts fail, {@link RetryExhaustedException} with the context of the
+ *     operation is thrown. Number of recoveries and failures are collected per control name, so that unstable locators
+ *     can be found.
+ */
+public class RetryPolicy {
+    private static final long MAX_BACKOFF_MILLIS = 2000;
+    private static final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    private final int attempts;
+    private final long backoffMillis;
+    private final List<Class<? extends Throwable>> retryOn;
+
+    /**
+     * Constructor.
+     *
+     * @param attempts
+     *          Maximal number of attempts, including the first one.
+     * @param backoffMillis
+     *          Delay before the second attempt in milliseconds, doubled after every attempt.
+     * @param retryOn
+     *          Types of exceptions which are considered recoverable.
+     */
+    @SafeVarargs
+    public RetryPolicy(int attempts, long backoffMillis, Class<? extends Throwable>... retryOn) {
+        this.attempts = Math.max(1, attempts);
+        this.backoffMillis = backoffMillis;
+        this.retryOn = Collections.unmodifiableList(Arrays.asList(retryOn));
+    }
+
+    /** Creates policy with number of attempts and backoff from configuration. */
+    @SafeVarargs
+    public static RetryPolicy retryOn(Class<? extends Throwable>... retryOn) {
+        ConfigProvider config = ConfigProvider.get();
+        return new RetryPolicy(config.getRetryAttempts(), config.getRetryBackoff(), retryOn);
+    }
+
+    /**
+     * Executes operation retrying it on recoverable exceptions.
+     *
+     * @param controlName
+     *          Name of the control used to collect statistics.
+     * @param operation
+     *          Description of the operation used in the final error.
+     * @param action
+     *          Operation itself.
+     * @return Result of the operation.
+     */
+    public <T> T execute(String controlName, String operation, Supplier<T> action) {
+        return execute(controlName, operation, action, null);
+    }
+
+    /**
+     * Executes operation retrying it on recoverable exceptions.
+     *
+     * @param beforeRetry
+     *          Action which is executed before every retry, e.g. to forget stale element. Can be null.
+     */
+    public <T> T execute(String controlName, String operation, Supplier<T> action, Runnable beforeRetry) {
+        long backoff = backoffMillis;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = action.get();
+                if (attempt > 1) {
+                    getCounters(controlName).recovered.incrementAndGet();
+                }
+                return result;
+            } catch (RuntimeException e) {
+                if (!isRecoverable(e)) {
+                    throw e;
+                }
+                if (attempt >= attempts) {
+                    getCounters(controlName).failed.incrementAndGet();
+                    throw new RetryExhaustedException(String.format("%s of %s failed after %d attempts: %s",
+                            operation, controlName, attempt, e.getMessage()), e);
+                }
+                getCounters(controlName).retries.incrementAndGet();
+                Logger.debug(String.format("[RetryPolicy] Retrying %s of %s after %s", operation, controlName,
+                        e.getClass().getSimpleName()));
+                sleep(backoff);
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+                if (beforeRetry != null) {
+                    beforeRetry.run();
+                }
+            }
+        }
+    }
+
+    private boolean isRecoverable(RuntimeException e) {
+        for (Class<? extends Throwable> type : retryOn) {
+            if (type.isInstance(e)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting to retry", e);
+        }
+    }
+
+    /** Provides summary of retries of all controls. */
+    public static String getSummary() {
+        long retries = counters.values().stream().mapToLong(counter -> counter.retries.get()).sum();
+        long recovered = counters.values().stream().mapToLong(counter -> counter.recovered.get()).sum();
+        long failed = counters.values().stream().mapToLong(counter -> counter.failed.get()).sum();
+        return String.format("retries: %d, recovered: %d, failed: %d", retries, recovered, failed);
+    }
+
+    /** Provides number of retries, recoveries and failures of specific control. */
+    public static long[] getCounters(WebObject webObject) {
+        Counters counter = counters.get(ElementCache.getKey(webObject.getControlName(), webObject.getLocator()));
+        return counter == null ? new long[3]
+                : new long[] {counter.retries.get(), counter.recovered.get(), counter.failed.get()};
+    }
+
+    /** Logs summary of retries, and retries per control name at debug level. */
+    public static void logStatistics() {
+        Logger.info("[RetryPolicy] " + getSummary());
+        for (Map.Entry<String, Counters> entry : new TreeMap<>(counters).entrySet()) {
+            Counters counter = entry.getValue();
+            Logger.debug(String.format("[RetryPolicy] %s - retries: %d, recovered: %d, failed: %d", entry.getKey(),
+                    counter.retries.get(), counter.recovered.get(), counter.failed.get()));
+        }
+    }
+
+    private static Counters getCounters(String controlName) {
+        return counters.computeIfAbsent(String.valueOf(controlName), name -> new Counters());
+    }
+
+    private static class Counters {
+        private final AtomicLong retries = new AtomicLong();
+        private final AtomicLong recovered = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+    }
+}
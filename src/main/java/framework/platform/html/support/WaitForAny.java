@@ -0,0 +1,217 @@
+package framework.platform.html.support;
+
+import framework.Logger;
+import framework.platform.html.WebObject;
+import framework.platform.utilities.Utils;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Waits for the first of several outcomes, e.g. success panel, validation error or captcha, so branching flows don't
+ * wait out the timeout of the wrong branch.
+ * <p>
+ *     Conditions on {@link WebObject}s and javascript conditions are evaluated in the browser: by one asynchronous
+ *     script which polls inside the browser, or by one script per poll if there are conditions evaluated in Java as
+ *     well. If several conditions hold at the same time, the one added first wins.
+ */
+public class WaitForAny {
+    private static final long POLLING_INTERVAL = 50;
+    private static final String FIRST_HOLDING_FUNCTION =
+            "var doc = document;"
+            + ByOrOperator.FIND_FUNCTION
+            + ElementState.DISPLAYED_FUNCTION
+            + "var holds = function(condition) {"
+            + "  if (condition[0] === 'java') { return false; }"
+            + "  if (condition[0] === 'script') { return !!new Function(condition[1])(); }"
+            + "  for (var a = 0; a < condition[1].length; a++) {"
+            + "    var elements = find(condition[1][a][0], condition[1][a][1], document);"
+            + "    for (var e = 0; e < elements.length; e++) {"
+            + "      if (condition[0] === 'present' || isDisplayed(elements[e])) { return true; }"
+            + "    }"
+            + "  }"
+            + "  return false;"
+            + "};"
+            + "var firstHolding = function(conditions) {"
+            + "  for (var c = 0; c < conditions.length; c++) {"
+            + "    try { if (holds(conditions[c])) { return c; } } catch (error) { }"
+            + "  }"
+            + "  return -1;"
+            + "};";
+    private static final String CHECK_SCRIPT = FIRST_HOLDING_FUNCTION + "return firstHolding(arguments[0]);";
+    private static final String AWAIT_SCRIPT =
+            "var conditions = arguments[0], timeout = arguments[1], callback = arguments[arguments.length - 1];"
+            + FIRST_HOLDING_FUNCTION
+            + "var deadline = new Date().getTime() + timeout;"
+            + "var poll = function() {"
+            + "  var index = firstHolding(conditions);"
+            + "  if (index >= 0 || new Date().getTime() >= deadline) { callback(index); return; }"
+            + "  setTimeout(poll, " + POLLING_INTERVAL + ");"
+            + "};"
+            + "poll();";
+
+    private final WebDriver driver;
+    private final List<Condition> conditions = new ArrayList<>();
+
+    private WaitForAny(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /** Creates empty wait for the session. */
+    public static WaitForAny of(WebDriver driver) {
+        return new WaitForAny(driver);
+    }
+
+    /** Adds condition which holds when any element of the {@link WebObject} is visible. */
+    public WaitForAny visible(String name, WebObject webObject) {
+        return add(new Condition(name, "visible", webObject, null, null));
+    }
+
+    /** Adds condition which holds when {@link WebObject} is present in the DOM. */
+    public WaitForAny present(String name, WebObject webObject) {
+        return add(new Condition(name, "present", webObject, null, null));
+    }
+
+    /**
+     * Adds javascript condition which holds when the script returns truthy value.
+     *
+     * @param script
+     *          Body of javascript function, e.g. {@code return !!window.grecaptcha;}
+     */
+    public WaitForAny script(String name, String script) {
+        return add(new Condition(name, "script", null, script, null));
+    }
+
+    /** Adds condition evaluated in Java. Browser conditions are then checked by one script per poll. */
+    public WaitForAny when(String name, BooleanSupplier condition) {
+        return add(new Condition(name, "java", null, null, condition));
+    }
+
+    /**
+     * Waits until any condition holds.
+     *
+     * @param timeoutInMilliseconds
+     *                              Maximum timeout in milliseconds (1000 = 1 second)
+     * @return Name of the condition which held first.
+     * @throws TimeoutException if no condition held before timeout.
+     */
+    public String await(long timeoutInMilliseconds) {
+        if (conditions.isEmpty()) {
+            throw new IllegalStateException("No conditions to wait for");
+        }
+        int index = -1;
+        boolean javascript = Utils.isJavascriptEnabled(driver);
+        if (javascript && conditions.stream().noneMatch(condition -> condition.supplier != null)) {
+            try {
+                index = ((Number) ((JavascriptExecutor) driver).executeAsyncScript(AWAIT_SCRIPT,
+                        getBrowserConditions(), timeoutInMilliseconds)).intValue();
+            } catch (WebDriverException e) {
+                Logger.debug("[WaitForAny] Can not wait with javascript: " + e.getMessage());
+                index = poll(false, timeoutInMilliseconds);
+            }
+        } else {
+            index = poll(javascript, timeoutInMilliseconds);
+        }
+        if (index < 0) {
+            throw new TimeoutException(String.format("None of conditions %s held after %d ms", getNames(),
+                    timeoutInMilliseconds));
+        }
+        return conditions.get(index).name;
+    }
+
+    private WaitForAny add(Condition condition) {
+        conditions.add(condition);
+        return this;
+    }
+
+    private int poll(boolean javascript, long timeoutInMilliseconds) {
+        try {
+            return new AdaptiveWait<>(driver, "WaitForAny" + getNames(), timeoutInMilliseconds)
+                    .until((com.google.common.base.Function<WebDriver, Integer>) webDriver -> {
+                        int index = javascript ? checkInBrowser() : -1;
+                        for (int i = 0; i < conditions.size() && (index < 0 || i < index); i++) {
+                            if (conditions.get(i).holdsInJava(javascript)) {
+                                return i;
+                            }
+                        }
+                        return index < 0 ? null : index;
+                    });
+        } catch (TimeoutException e) {
+            return -1;
+        }
+    }
+
+    private int checkInBrowser() {
+        try {
+            return ((Number) ((JavascriptExecutor) driver).executeScript(CHECK_SCRIPT, getBrowserConditions()))
+                    .intValue();
+        } catch (WebDriverException e) {
+            Logger.debug("[WaitForAny] Can not check conditions with javascript: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /** Conditions in the form of the script. Conditions evaluated in Java never hold in the script. */
+    private List<List<Object>> getBrowserConditions() {
+        List<List<Object>> browserConditions = new ArrayList<>();
+        for (Condition condition : conditions) {
+            browserConditions.add(condition.toScriptArgument());
+        }
+        return browserConditions;
+    }
+
+    private List<String> getNames() {
+        List<String> names = new ArrayList<>();
+        for (Condition condition : conditions) {
+            names.add(condition.name);
+        }
+        return names;
+    }
+
+    /** Single outcome to wait for. */
+    private static final class Condition {
+        private final String name;
+        private final String type;
+        private final WebObject webObject;
+        private final String script;
+        private final BooleanSupplier supplier;
+
+        private Condition(String name, String type, WebObject webObject, String script, BooleanSupplier supplier) {
+            this.name = name;
+            this.type = type;
+            this.webObject = webObject;
+            this.script = script;
+            this.supplier = supplier;
+        }
+
+        private List<Object> toScriptArgument() {
+            if (supplier != null) {
+                return Arrays.asList(type);
+            }
+            if (script != null) {
+                return Arrays.asList(type, script);
+            }
+            return Arrays.asList(type, HtmlElementUtils.resolveAlternatives(webObject.getLocator()));
+        }
+
+        /**
+         * Evaluates condition with webdriver calls. Browser conditions are skipped if they were checked by the script
+         * already.
+         */
+        private boolean holdsInJava(boolean checkedInBrowser) {
+            if (supplier != null) {
+                return supplier.getAsBoolean();
+            }
+            if (checkedInBrowser || script != null) {
+                return false;
+            }
+            return webObject.isPresentNow() && ("present".equals(type) || webObject.isVisible());
+        }
+    }
+}
@@ -3,6 +3,8 @@ package framework.platform.utilities;
 import framework.Logger;
 import framework.adapters.WebDriverManager;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
 import org.openqa.selenium.interactions.Actions;
 
 /**
@@ -26,7 +28,20 @@ public class Utils {
 	 *  TODO Clarification.
 	 */
 	public static void scrollPage(Integer y) {
-		executeJS("scroll(0, " + y.toString() + ");");
+		if (isJavascriptEnabled(WebDriverManager.getDriver())) {
+			executeJS("scroll(0, " + y.toString() + ");");
+		}
+	}
+
+	/**
+	 * Checks whether given instance of webdriver can execute javascript. HtmlUnit can be started with javascript
+	 * disabled, in that case javascript helpers must be skipped.
+	 */
+	public static boolean isJavascriptEnabled(WebDriver driver) {
+		if (driver instanceof HtmlUnitDriver) {
+			return ((HtmlUnitDriver) driver).isJavascriptEnabled();
+		}
+		return driver instanceof JavascriptExecutor;
 	}
 
 	/** Checks whether source code of the current web page contains given text. */
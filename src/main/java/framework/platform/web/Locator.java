@@ -18,4 +18,10 @@ public @interface Locator {
     String mobile() default "";
     String tablet() default "";
 
+    /**
+     * Element must be visible before the page is considered loaded, otherwise loading fails. See
+     * {@link PageLoader#waitForPageToLoad()}.
+     */
+    boolean requiredForReady() default false;
+
 }
@@ -0,0 +1,129 @@
+package framework.platform.web;
+
+import framework.Logger;
+import framework.platform.utilities.Utils;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * Tracks network activity of the page to wait until it settles.
+ * <p>
+ *     Instrumentation script wraps {@code XMLHttpRequest} and {@code fetch} and keeps requests in flight together with
+ *     time of the last network activity. Request is finished when it completes, fails, times out or is aborted.
+ *     Navigation drops the instrumentation, so it's injected again by every wait. Requests which were started before
+ *     instrumentation was injected are not tracked.
+ */
+public class NetworkTracker {
+    private static final String INSTRUMENTATION_SCRIPT =
+            "if (!window.__networkTracker) {"
+            + "  var tracker = window.__networkTracker = {requests: [], fetches: 0, lastActivity: new Date().getTime()};"
+            + "  tracker.inFlight = function() {"
+            + "    var pending = [];"
+            + "    for (var i = 0; i < tracker.requests.length; i++) {"
+            + "      var request = tracker.requests[i];"
+            + "      if (!request.__trackerDone && request.readyState !== 4) { pending.push(request); }"
+            + "    }"
+            + "    if (pending.length !== tracker.requests.length) { tracker.lastActivity = new Date().getTime(); }"
+            + "    tracker.requests = pending;"
+            + "    return pending.length + tracker.fetches;"
+            + "  };"
+            + "  if (window.XMLHttpRequest) {"
+            + "    var send = XMLHttpRequest.prototype.send, abort = XMLHttpRequest.prototype.abort;"
+            + "    var done = function(request) {"
+            + "      request.__trackerDone = true;"
+            + "      tracker.lastActivity = new Date().getTime();"
+            + "    };"
+            + "    XMLHttpRequest.prototype.send = function() {"
+            + "      var request = this;"
+            + "      tracker.lastActivity = new Date().getTime();"
+            + "      request.__trackerDone = false;"
+            + "      if (!request.__trackerListens && request.addEventListener) {"
+            + "        request.__trackerListens = true;"
+            + "        var events = ['loadend', 'load', 'error', 'abort', 'timeout'];"
+            + "        for (var e = 0; e < events.length; e++) {"
+            + "          request.addEventListener(events[e], function() { done(request); });"
+            + "        }"
+            + "      }"
+            + "      var result = send.apply(request, arguments);"
+            + "      tracker.requests.push(request);"
+            + "      return result;"
+            + "    };"
+            + "    XMLHttpRequest.prototype.abort = function() {"
+            + "      done(this);"
+            + "      return abort.apply(this, arguments);"
+            + "    };"
+            + "  }"
+            + "  if (window.fetch) {"
+            + "    var fetch = window.fetch;"
+            + "    var finished = function() {"
+            + "      tracker.fetches = Math.max(0, tracker.fetches - 1);"
+            + "      tracker.lastActivity = new Date().getTime();"
+            + "    };"
+            + "    window.fetch = function() {"
+            + "      tracker.fetches++;"
+            + "      tracker.lastActivity = new Date().getTime();"
+            + "      var response;"
+            + "      try { response = fetch.apply(this, arguments); } catch (error) { finished(); throw error; }"
+            + "      return response.then("
+            + "          function(response) { finished(); return response; },"
+            + "          function(error) { finished(); throw error; });"
+            + "    };"
+            + "  }"
+            + "}";
+
+    private static final String WAIT_FOR_IDLE_SCRIPT = INSTRUMENTATION_SCRIPT
+            + "var quietMillis = arguments[0], timeout = arguments[1], callback = arguments[arguments.length - 1];"
+            + "var deadline = new Date().getTime() + timeout;"
+            + "var check = function() {"
+            + "  var now = new Date().getTime(), tracker = window.__networkTracker;"
+            + "  var busy = document.readyState !== 'complete' || tracker.inFlight() > 0"
+            + "      || (window.jQuery && window.jQuery.active > 0);"
+            + "  var quietFor = now - tracker.lastActivity;"
+            + "  if (!busy && quietFor >= quietMillis) { callback(true); return; }"
+            + "  if (now >= deadline) { callback(false); return; }"
+            + "  setTimeout(check, Math.max(10, Math.min(busy ? 50 : quietMillis - quietFor, deadline - now)));"
+            + "};"
+            + "check();";
+
+    /** Constructor. */
+    private NetworkTracker() {
+        //Utility class. Hide the constructor to prevent instantiation.
+    }
+
+    /** Injects instrumentation into the current page. Does nothing if it's already injected. */
+    public static void install(WebDriver driver) {
+        if (!Utils.isJavascriptEnabled(driver)) {
+            return;
+        }
+        try {
+            ((JavascriptExecutor) driver).executeScript(INSTRUMENTATION_SCRIPT);
+        } catch (WebDriverException e) {
+            Logger.debug("[NetworkTracker] Can not inject instrumentation: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Waits until page has no requests in flight and no network activity for given time. Does nothing if browser
+     * can't execute javascript.
+     *
+     * @param quietMillis
+     *                    Time in milliseconds without network activity after which page is considered settled.
+     * @param timeoutInMilliseconds
+     *                              Maximum timeout in milliseconds (1000 = 1 second)
+     * @return True if network is idle, false if timeout expired or activity could not be checked.
+     */
+    public static boolean waitForNetworkIdle(WebDriver driver, long quietMillis, long timeoutInMilliseconds) {
+        if (!Utils.isJavascriptEnabled(driver)) {
+            return true;
+        }
+        try {
+            Object idle = ((JavascriptExecutor) driver).executeAsyncScript(WAIT_FOR_IDLE_SCRIPT, quietMillis,
+                    timeoutInMilliseconds);
+            return Boolean.TRUE.equals(idle);
+        } catch (WebDriverException e) {
+            Logger.debug("[NetworkTracker] Can not check network activity: " + e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package framework.platform.web;
+
+import framework.Logger;
+import framework.platform.html.support.ElementCache;
+import framework.platform.html.support.ReadinessCheck;
+import framework.platform.utilities.Utils;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Readiness engine which waits until page is loaded completely and all ajax requests are finished.
+ * <p>
+ *     Waiting happens inside the browser using {@link JavascriptExecutor#executeAsyncScript(String, Object...)}: the
+ *     script subscribes to document and jQuery events and calls back as soon as the page becomes ready, so there are
+ *     no fixed sleeps and only one round trip when page is already ready. Requests tracked by {@link NetworkTracker}
+ *     are taken into account as well.
+ * <p>
+ *     Readiness is lazy: page objects only mark that new document is expected, and the check happens on the first
+ *     interaction with the page, using {@link PageLoader#waitForPageToLoad()} of the page. Successful check stamps
+ *     the document with a token, so following interactions only compare the token instead of waiting again, and
+ *     documents loaded without new page object (link click, {@code back()}, redirect) are still noticed.
+ */
+public class PageReadiness {
+    private static final String WAIT_FOR_READY_SCRIPT =
+            "var timeout = arguments[0], token = arguments[1], callback = arguments[arguments.length - 1];"
+            + "var done = function(ready) {"
+            + "  if (ready) { window.__readyToken = token; }"
+            + "  callback(ready);"
+            + "};"
+            + "var deadline = new Date().getTime() + timeout, finished = false;"
+            + "var isReady = function() {"
+            + "  return document.readyState === 'complete'"
+            + "      && !(window.jQuery && window.jQuery.active > 0)"
+            + "      && !(window.__networkTracker && window.__networkTracker.inFlight() > 0);"
+            + "};"
+            + "var check = function() {"
+            + "  if (finished) { return; }"
+            + "  if (isReady() || new Date().getTime() >= deadline) {"
+            + "    finished = true;"
+            + "    done(isReady());"
+            + "    return;"
+            + "  }"
+            + "  setTimeout(check, 50);"
+            + "};"
+            + "if (isReady()) { done(true); return; }"
+            + "if (document.addEventListener) {"
+            + "  document.addEventListener('readystatechange', check);"
+            + "  window.addEventListener('load', check);"
+            + "}"
+            + "if (window.jQuery) { window.jQuery(document).one('ajaxStop', function() { setTimeout(check, 0); }); }"
+            + "setTimeout(check, 50);";
+    private static final String SAME_DOCUMENT_SCRIPT = "return window.__readyToken === arguments[0];";
+
+    private static final Map<WebDriver, ReadinessState> states = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final AtomicLong performedChecks = new AtomicLong();
+    private static final AtomicLong skippedChecks = new AtomicLong();
+    private static final AtomicLong tokens = new AtomicLong();
+
+    /** Constructor. */
+    private PageReadiness() {
+        //Utility class. Hide the constructor to prevent instantiation.
+    }
+
+    /**
+     * Marks that session shows (or is about to show) new document, so readiness is checked again on the first
+     * interaction. Doesn't call the browser.
+     */
+    public static void expectNewDocument(WebDriver driver) {
+        expectNewDocument(driver, null);
+    }
+
+    /**
+     * Marks that session shows new document of given page, so readiness is checked by the page on the first
+     * interaction. Page is referenced weakly.
+     */
+    public static void expectNewDocument(WebDriver driver, PageLoader page) {
+        ReadinessState state = getState(driver);
+        state.page = page == null ? null : new WeakReference<>(page);
+        state.pending = true;
+    }
+
+    /** Checks whether readiness of the current document of the session is not confirmed yet. */
+    public static boolean isPending(WebDriver driver) {
+        ReadinessState state = states.get(driver);
+        return state == null || state.pending || state.epoch != ElementCache.getEpoch(driver);
+    }
+
+    /**
+     * Waits until page is ready only if readiness was not confirmed for the current document. Installs
+     * {@link NetworkTracker} into the new document as well.
+     *
+     * @param timeoutInMilliseconds
+     *                              Maximum timeout in milliseconds (1000 = 1 second)
+     * @return True if page is ready or was confirmed ready before, false if timeout expired.
+     */
+    public static boolean ensureReady(WebDriver driver, long timeoutInMilliseconds) {
+        ReadinessState state = getState(driver);
+        if (state.checking) {
+            // page waits for its elements, readiness is being checked already
+            return true;
+        }
+        if (!isPending(driver)) {
+            if (isSameDocument(driver, state.token)) {
+                skippedChecks.incrementAndGet();
+                return true;
+            }
+            state.pending = true;
+        }
+        PageLoader page = state.page == null ? null : state.page.get();
+        state.page = null;
+        state.checking = true;
+        try {
+            if (page != null) {
+                page.waitForPageToLoad();
+            }
+            boolean ready = !state.pending || waitUntilReady(driver, timeoutInMilliseconds);
+            NetworkTracker.install(driver);
+            return ready;
+        } finally {
+            state.checking = false;
+        }
+    }
+
+    /**
+     * Waits until page is loaded completely and all ajax requests are finished. Does nothing if browser can't execute
+     * javascript. Readiness is confirmed only if the check succeeds, see {@link #ensureReady(WebDriver, long)}.
+     *
+     * @param timeoutInMilliseconds
+     *                              Maximum timeout in milliseconds (1000 = 1 second)
+     * @return True if page is ready, false if timeout expired or readiness could not be checked.
+     */
+    public static boolean waitUntilReady(WebDriver driver, long timeoutInMilliseconds) {
+        ReadinessState state = getState(driver);
+        long epoch = ElementCache.getEpoch(driver);
+        if (!Utils.isJavascriptEnabled(driver)) {
+            state.confirm(epoch, null);
+            return true;
+        }
+        performedChecks.incrementAndGet();
+        String token = String.valueOf(tokens.incrementAndGet());
+        boolean ready;
+        try {
+            ready = Boolean.TRUE.equals(((JavascriptExecutor) driver).executeAsyncScript(WAIT_FOR_READY_SCRIPT,
+                    timeoutInMilliseconds, token));
+        } catch (WebDriverException e) {
+            Logger.debug("[PageReadiness] Can not check page readiness: " + e.getMessage());
+            ready = false;
+        }
+        if (ready) {
+            state.confirm(epoch, token);
+        } else {
+            state.pending = true;
+        }
+        return ready;
+    }
+
+    /**
+     * Waits until readiness contract of the page holds. Readiness of the current document is confirmed if it does, so
+     * following interactions don't check it again.
+     *
+     * @param timeoutInMilliseconds
+     *                              Maximum timeout in milliseconds (1000 = 1 second)
+     */
+    public static ReadinessCheck.Result await(WebDriver driver, ReadinessCheck check, long timeoutInMilliseconds) {
+        ReadinessState state = getState(driver);
+        long epoch = ElementCache.getEpoch(driver);
+        String token = Utils.isJavascriptEnabled(driver) ? String.valueOf(tokens.incrementAndGet()) : null;
+        performedChecks.incrementAndGet();
+        ReadinessCheck.Result result = check.await(driver, timeoutInMilliseconds, token);
+        if (result.isReady()) {
+            state.confirm(epoch, token);
+        } else {
+            state.pending = true;
+        }
+        return result;
+    }
+
+    /** Compares token of the current document with the one stamped by the last successful check. */
+    private static boolean isSameDocument(WebDriver driver, String token) {
+        if (token == null || !Utils.isJavascriptEnabled(driver)) {
+            return true;
+        }
+        try {
+            return Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(SAME_DOCUMENT_SCRIPT, token));
+        } catch (WebDriverException e) {
+            Logger.debug("[PageReadiness] Can not check document token: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /** Provides numbers of readiness checks done in the browser and skipped because page was confirmed ready. */
+    public static String getSummary() {
+        return String.format("checks: %d, skipped: %d", performedChecks.get(), skippedChecks.get());
+    }
+
+    /** Writes readiness statistics to the log. */
+    public static void logStatistics() {
+        Logger.info("[PageReadiness] " + getSummary());
+    }
+
+    private static ReadinessState getState(WebDriver driver) {
+        return states.computeIfAbsent(driver, key -> new ReadinessState());
+    }
+
+    /** Readiness of the current document of single session. */
+    private static class ReadinessState {
+        private volatile boolean pending = true;
+        private volatile long epoch = -1;
+        private volatile WeakReference<PageLoader> page;
+        private volatile String token;
+        private volatile boolean checking;
+
+        private void confirm(long confirmedEpoch, String confirmedToken) {
+            epoch = confirmedEpoch;
+            token = confirmedToken;
+            pending = false;
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package framework.platform.web.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Annotation processor of {@code framework.platform.web.Locator} fields.
+ * <p>
+ * Validates every locator at build time: locators are split and parsed by {@link LocatorSyntax}, like at runtime,
+ * each {@code |} alternative must have a value, XPath expressions must compile and CSS selectors must have balanced
+ * brackets and quotes. For every page class it generates {@code framework.components.PageInitializer} which assigns
+ * fields without reflection and preloads split alternatives of its locators into {@code LocatorCache}, so they are not
+ * parsed at runtime. Classes with private fields are left to runtime initialization.
+ * <p>
+ * Processor only depends on JDK, so it's compiled before the rest of the sources (see pom.xml).
+ */
+@SupportedAnnotationTypes(LocatorProcessor.LOCATOR_ANNOTATION)
+public class LocatorProcessor extends AbstractProcessor {
+    static final String LOCATOR_ANNOTATION = "framework.platform.web.Locator";
+    private static final String INITIALIZER_INTERFACE = "framework.components.PageInitializer";
+    private static final String INITIALIZER_SUFFIX = "_WebObjects";
+    private static final String WEB_DRIVER = "org.openqa.selenium.WebDriver";
+    private static final String LOCATOR_CACHE = "framework.platform.html.support.LocatorCache";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement locatorAnnotation = processingEnv.getElementUtils().getTypeElement(LOCATOR_ANNOTATION);
+        if (locatorAnnotation == null) {
+            return false;
+        }
+        Map<TypeElement, List<VariableElement>> fieldsByPage = new LinkedHashMap<>();
+        for (VariableElement field : ElementFilter.fieldsIn(roundEnv.getElementsAnnotatedWith(locatorAnnotation))) {
+            fieldsByPage.computeIfAbsent((TypeElement) field.getEnclosingElement(), page -> new ArrayList<>())
+                    .add(field);
+        }
+        for (Map.Entry<TypeElement, List<VariableElement>> page : fieldsByPage.entrySet()) {
+            List<FieldLocators> fields = new ArrayList<>();
+            boolean valid = true;
+            for (VariableElement field : page.getValue()) {
+                FieldLocators locators = readLocators(field, locatorAnnotation);
+                valid &= validate(field, locators);
+                fields.add(locators);
+            }
+            if (valid && canBeGenerated(page.getKey(), page.getValue())) {
+                generateInitializer(page.getKey(), fields);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks locator string split and parsed by {@link LocatorSyntax}, the same way as at runtime.
+     *
+     * @return Error description, or null if locator is valid.
+     */
+    static String validateLocator(String locator) {
+        for (String alternative : LocatorSyntax.split(locator)) {
+            if (alternative.trim().isEmpty()) {
+                return "locator {" + locator + "} has empty alternative";
+            }
+            String[] parsed = LocatorSyntax.parse(alternative);
+            String strategy = parsed[0];
+            String value = parsed[1];
+            if (value.trim().isEmpty()) {
+                return "locator {" + alternative.trim() + "} has no value";
+            }
+            if ("xpath".equals(strategy)) {
+                try {
+                    XPathFactory.newInstance().newXPath().compile(value);
+                } catch (XPathExpressionException e) {
+                    return "invalid xpath {" + value + "}";
+                }
+            } else if ("css".equals(strategy) && !isBalanced(value)) {
+                return "invalid css selector {" + value + "}: unbalanced brackets or quotes";
+            }
+        }
+        return null;
+    }
+
+    private static boolean isBalanced(String selector) {
+        StringBuilder expected = new StringBuilder();
+        char quote = 0;
+        for (int i = 0; i < selector.length(); i++) {
+            char c = selector.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (quote != 0) {
+                quote = c == quote ? 0 : quote;
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '[' || c == '(') {
+                expected.append(c == '[' ? ']' : ')');
+            } else if (c == ']' || c == ')') {
+                if (expected.length() == 0 || expected.charAt(expected.length() - 1) != c) {
+                    return false;
+                }
+                expected.setLength(expected.length() - 1);
+            }
+        }
+        return quote == 0 && expected.length() == 0;
+    }
+
+    private FieldLocators readLocators(VariableElement field, TypeElement locatorAnnotation) {
+        FieldLocators locators = new FieldLocators(field);
+        for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+            if (!mirror.getAnnotationType().asElement().equals(locatorAnnotation)) {
+                continue;
+            }
+            locators.annotation = mirror;
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value
+                    : mirror.getElementValues().entrySet()) {
+                String name = value.getKey().getSimpleName().toString();
+                String locator = String.valueOf(value.getValue().getValue());
+                if ("main".equals(name)) {
+                    locators.main = locator;
+                } else if ("mobile".equals(name)) {
+                    locators.mobile = locator;
+                } else if ("tablet".equals(name)) {
+                    locators.tablet = locator;
+                }
+            }
+        }
+        return locators;
+    }
+
+    private boolean validate(VariableElement field, FieldLocators locators) {
+        Messager messager = processingEnv.getMessager();
+        boolean valid = true;
+        if (locators.main.trim().isEmpty()) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "@Locator of field " + field.getSimpleName()
+                    + " has no main locator", field, locators.annotation);
+            valid = false;
+        }
+        for (String locator : Arrays.asList(locators.main, locators.mobile, locators.tablet)) {
+            String error = locator.trim().isEmpty() ? null : validateLocator(locator);
+            if (error != null) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "@Locator of field " + field.getSimpleName() + ": "
+                        + error, field, locators.annotation);
+                valid = false;
+            }
+        }
+        if (field.asType().getKind() != TypeKind.DECLARED || !hasWebObjectConstructor(field)) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Type of @Locator field " + field.getSimpleName()
+                    + " must have public constructor (WebDriver, String, String)", field);
+            valid = false;
+        }
+        return valid;
+    }
+
+    private static boolean hasWebObjectConstructor(VariableElement field) {
+        Element type = ((DeclaredType) field.asType()).asElement();
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            List<? extends VariableElement> parameters = constructor.getParameters();
+            if (constructor.getModifiers().contains(Modifier.PUBLIC) && parameters.size() == 3
+                    && parameters.get(0).asType().toString().equals(WEB_DRIVER)
+                    && parameters.get(1).asType().toString().equals(String.class.getName())
+                    && parameters.get(2).asType().toString().equals(String.class.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Generated initializer must be able to access the class and assign every field directly. */
+    private static boolean canBeGenerated(TypeElement page, List<VariableElement> fields) {
+        for (Element element = page; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+        }
+        for (VariableElement field : fields) {
+            if (field.getModifiers().contains(Modifier.PRIVATE) || field.getModifiers().contains(Modifier.FINAL)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void generateInitializer(TypeElement page, List<FieldLocators> fields) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(page).getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(page).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                .replace('$', '_') + INITIALIZER_SUFFIX;
+        String pageName = page.getQualifiedName().toString();
+        try (Writer writer = processingEnv.getFiler().createSourceFile(
+                packageName.isEmpty() ? simpleName : packageName + "." + simpleName, page).openWriter()) {
+            if (!packageName.isEmpty()) {
+                writer.write("package " + packageName + ";\n\n");
+            }
+            writer.write("/** Initializer of {@link " + pageName + "} generated by "
+                    + LocatorProcessor.class.getName() + ". */\n");
+            writer.write("public final class " + simpleName + " implements " + INITIALIZER_INTERFACE + " {\n");
+            writeAlternatives(writer, fields);
+            writer.write("    @Override\n");
+            writer.write("    public void initialize(Object page, " + WEB_DRIVER + " driver, "
+                    + "framework.platform.Device platform) {\n");
+            writer.write("        " + pageName + " target = (" + pageName + ") page;\n");
+            for (FieldLocators field : fields) {
+                writer.write("        target." + field.name + " = new " + field.type + "(driver, "
+                        + INITIALIZER_INTERFACE + ".select(platform, " + quote(field.main) + ", "
+                        + quote(field.getMobile()) + ", " + quote(field.getTablet()) + "), \"" + field.name
+                        + "\");\n");
+            }
+            writer.write("    }\n");
+            writer.write("}\n");
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Can not generate initializer of "
+                    + pageName + ": " + e.getMessage(), page);
+        }
+    }
+
+    /** Writes split alternatives of every distinct locator as constants and preloads them into the cache. */
+    private static void writeAlternatives(Writer writer, List<FieldLocators> fields) throws IOException {
+        Set<String> locators = new LinkedHashSet<>();
+        for (FieldLocators field : fields) {
+            locators.addAll(Arrays.asList(field.main, field.getMobile(), field.getTablet()));
+        }
+        locators.remove("");
+        List<String> constants = new ArrayList<>();
+        for (String locator : locators) {
+            String constant = "ALTERNATIVES_" + constants.size();
+            constants.add(constant);
+            StringBuilder alternatives = new StringBuilder();
+            for (String alternative : LocatorSyntax.split(locator)) {
+                String[] parsed = LocatorSyntax.parse(alternative);
+                alternatives.append(alternatives.length() == 0 ? "" : ", ")
+                        .append("{").append(quote(parsed[0])).append(", ").append(quote(parsed[1])).append("}");
+            }
+            writer.write("    private static final String[][] " + constant + " = {" + alternatives + "};\n");
+        }
+        writer.write("\n    static {\n");
+        int index = 0;
+        for (String locator : locators) {
+            writer.write("        " + LOCATOR_CACHE + ".preload(" + quote(locator) + ", " + constants.get(index++)
+                    + ");\n");
+        }
+        writer.write("    }\n\n");
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    quoted.append("\\\"");
+                    break;
+                case '\\':
+                    quoted.append("\\\\");
+                    break;
+                case '\n':
+                    quoted.append("\\n");
+                    break;
+                case '\r':
+                    quoted.append("\\r");
+                    break;
+                case '\t':
+                    quoted.append("\\t");
+                    break;
+                default:
+                    quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /** Values of the annotation of single field. */
+    private static final class FieldLocators {
+        private final String name;
+        private final String type;
+        private AnnotationMirror annotation;
+        private String main = "";
+        private String mobile = "";
+        private String tablet = "";
+
+        private FieldLocators(VariableElement field) {
+            name = field.getSimpleName().toString();
+            type = field.asType().getKind() == TypeKind.DECLARED
+                    ? ((TypeElement) ((DeclaredType) field.asType()).asElement()).getQualifiedName().toString()
+                    : field.asType().toString();
+        }
+
+        /** Mobile locator falls back to the main one, like {@code BasicPage} did at runtime. */
+        private String getMobile() {
+            return mobile.isEmpty() ? main : mobile;
+        }
+
+        /** Tablet locator falls back to the main one only if mobile one is not set, like {@code BasicPage} did. */
+        private String getTablet() {
+            return mobile.isEmpty() ? main : tablet;
+        }
+    }
+}
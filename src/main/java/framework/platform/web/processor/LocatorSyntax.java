@@ -0,0 +1,50 @@
+package framework.platform.web.processor;
+
+/**
+ * Syntax of locator strings, shared by {@link LocatorProcessor} at build time and by
+ * {@code framework.platform.html.support.HtmlElementUtils} at runtime, so both accept the same locators.
+ * <p>
+ * Only depends on JDK, so it's compiled together with the processor (see pom.xml).
+ */
+public final class LocatorSyntax {
+    /** Delimiter of alternatives of single locator. */
+    public static final String DELIMITER = "|";
+
+    /** Constructor. */
+    private LocatorSyntax() {
+        //Utility class. Hide the constructor to prevent instantiation.
+    }
+
+    /**
+     * Splits locator into its alternatives. Empty alternatives (including the trailing one) are kept, so they can be
+     * rejected.
+     */
+    public static String[] split(String locator) {
+        return locator.trim().split("\\Q" + DELIMITER + "\\E", -1);
+    }
+
+    /**
+     * Splits single alternative into location strategy and its value depending on what it starts with.
+     *
+     * @param alternative - A String that represents the means to locate element (could be id/name/xpath/css locator).
+     * @return Array of strategy name (id, name, link, xpath, css or idOrName) and value.
+     */
+    public static String[] parse(String alternative) {
+        String locator = alternative.trim();
+        if (locator.startsWith("id=")) {
+            return new String[] {"id", locator.substring("id=".length())};
+        } else if (locator.startsWith("name=")) {
+            return new String[] {"name", locator.substring("name=".length())};
+        } else if (locator.startsWith("link=")) {
+            return new String[] {"link", locator.substring("link=".length())};
+        } else if (locator.startsWith("xpath=")) {
+            return new String[] {"xpath", locator.substring("xpath=".length())};
+        } else if (locator.startsWith("/") || locator.startsWith("./")) {
+            return new String[] {"xpath", locator};
+        } else if (locator.startsWith("css=")) {
+            return new String[] {"css", locator.substring("css=".length())};
+        } else {
+            return new String[] {"idOrName", locator};
+        }
+    }
+}
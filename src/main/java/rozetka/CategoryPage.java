@@ -12,12 +12,11 @@ public class CategoryPage extends BasicPage {
 	@Locator(main = "css=.g-i-tile-i-title.clearfix>a")
 	protected WebObject availableProduct;
 
-	@Locator(main = "css=.c-cols-inner-l>h1")
+	@Locator(main = "css=.c-cols-inner-l>h1", requiredForReady = true)
 	protected WebObject pageTitle;
 
 	public String getTitle() {
 		Logger.info("Get page title");
-		pageTitle.waitUntilVisible();
 		return pageTitle.getText().toLowerCase();
 	}
 
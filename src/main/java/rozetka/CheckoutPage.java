@@ -8,7 +8,7 @@ import framework.platform.web.Locator;
 
 public class CheckoutPage extends BasicPage {
 
-	@Locator(main = "id=reciever_name")
+	@Locator(main = "id=reciever_name", requiredForReady = true)
 	protected WebObject name;
 
 	@Locator(main = "id=suggest_locality")
@@ -70,7 +70,7 @@ public class CheckoutPage extends BasicPage {
 
 	public CheckoutPage chooseDeliveryMethod() {
 		Logger.info("Choose delivery method");
-		sleepFor(2000); //need for page reloading
+		waitForNetworkIdle(500); //need for page reloading
 		deliveryMethod.clickOnElementNumber(2);
 		waitForAjaxRequestToBeFinished();
 		return this;
@@ -78,14 +78,14 @@ public class CheckoutPage extends BasicPage {
 
 	public CheckoutPage choosePaymentMethod() {
 		Logger.info("Choose payment method");
-		sleepFor(2000); //need for page reloading
+		waitForNetworkIdle(500); //need for page reloading
 		payment.clickOnElementNumber(2);
 		return this;
 	}
 
 	public CheckoutPage clickContinueButton() {
 		Logger.info("Click Continue button");
-		sleepFor(2000);    //need for page reloading
+		waitForNetworkIdle(500);    //need for page reloading
 		continueButton.click();
 		waitForAjaxRequestToBeFinished();
 		return this;
@@ -15,7 +15,7 @@ public class ProductPage extends BasicPage {
 	@Locator(main = "css=.detail-tabs-i .detail-chars-l")
 	protected WebObject details;
 
-	@Locator(main = "css=.detail-title")
+	@Locator(main = "css=.detail-title", requiredForReady = true)
 	protected WebObject productTitle;
 
 	@Locator(main = "css=.detail-buy-btn-container .btn-link-i")
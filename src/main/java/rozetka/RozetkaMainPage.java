@@ -9,7 +9,7 @@ import org.openqa.selenium.support.PageFactory;
 
 public class RozetkaMainPage extends BasicPage {
 
-	@Locator(main = "id=new-fat-menu")
+	@Locator(main = "id=new-fat-menu", requiredForReady = true)
 	protected WebObject mainMenu;
 
 	@Locator(main = "css=#m-main-new>li[id='1']>a")
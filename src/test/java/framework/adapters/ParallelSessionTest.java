@@ -0,0 +1,91 @@
+package framework.adapters;
+
+import framework.Logger;
+import framework.platform.html.HtmlUnitSmokeTest.FixturePage;
+import framework.platform.html.WebObject;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.PageFactory;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * ParallelSessionTest
+ * <p>
+ * Runs the same flow on several threads at once on HtmlUnit and verifies that every thread works with its own session
+ * and that parallel run scales compared to serial one.
+ */
+public class ParallelSessionTest {
+	private static final String FIXTURE = "/fixtures/smoke.html";
+	private static final int THREADS = 4;
+
+	@Test
+	public void verifyThreadsGetOwnSessionsAndRunInParallel() throws Exception {
+		runFlows(THREADS, THREADS);
+		long serial = runFlows(1, THREADS);
+		long parallel = runFlows(THREADS, THREADS);
+		Logger.info(String.format("[ParallelSessionTest] %d flows on 1 thread: %d ms, on %d threads: %d ms", THREADS,
+				serial, THREADS, parallel));
+		assertTrue(parallel * 2 < serial, "Parallel run should scale: serial " + serial + " ms, parallel " + parallel
+				+ " ms");
+	}
+
+	/**
+	 * Runs flows on the pool of threads and checks that no session was shared by threads running at the same time.
+	 *
+	 * @return Wall time in milliseconds.
+	 */
+	private long runFlows(int threads, int flows) throws Exception {
+		Set<WebDriver> activeSessions = ConcurrentHashMap.newKeySet();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		long start = System.currentTimeMillis();
+		try {
+			List<Future<WebDriver>> results = new ArrayList<>();
+			for (int i = 0; i < flows; i++) {
+				results.add(executor.submit(flow(activeSessions)));
+			}
+			for (Future<WebDriver> result : results) {
+				result.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+		return System.currentTimeMillis() - start;
+	}
+
+	private Callable<WebDriver> flow(Set<WebDriver> activeSessions) {
+		return () -> {
+			WebDriver driver = WebDriverManager.getDriver();
+			assertTrue(activeSessions.add(driver), "Session " + driver + " should not be shared between threads");
+			try {
+				String probe = UUID.randomUUID().toString();
+				driver.navigate().to(getClass().getResource(FIXTURE) + "?probe=" + probe);
+				FixturePage page = PageFactory.initElements(driver, FixturePage.class);
+				assertSame(page.getDriver(), driver, "Page should be bound to the session of its thread");
+				WebObject name = new WebObject(driver, "id=name", "name");
+				name.type(probe);
+				new WebObject(driver, "id=delayed", "delayed").click();
+				new WebObject(driver, "id=late", "late").waitUntilVisible();
+				assertEquals(name.getValue(), probe, "Field was typed into by another thread");
+				assertTrue(driver.getCurrentUrl().contains(probe), "Session was navigated by another thread");
+				assertSame(WebDriverManager.getDriver(), driver, "Thread should keep its session during the flow");
+				return driver;
+			} finally {
+				activeSessions.remove(driver);
+				WebDriverManager.releaseDriver();
+			}
+		};
+	}
+}
@@ -0,0 +1,234 @@
+package framework.components;
+
+import framework.Logger;
+import framework.platform.Device;
+import framework.platform.html.WebObject;
+import framework.platform.web.Locator;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * PageMetadataTest
+ * <p>
+ * Verifies that page metadata is resolved once and compares cached page initialization with the reflective one.
+ */
+public class PageMetadataTest {
+	private static final int ITERATIONS = 20_000;
+
+	@Test
+	public void verifyMetadataIsResolvedOnce() {
+		PageMetadata metadata = PageMetadata.of(LargePage.class);
+		assertSame(PageMetadata.of(LargePage.class), metadata, "Metadata should be cached per class");
+		assertEquals(metadata.getFieldsCount(), 40);
+
+		LargePage page = new LargePage();
+		metadata.initialize(page, null, Device.MOBILE);
+		assertEquals(page.field7.getLocator(), "css=.field7");
+		assertEquals(page.field7.getControlName(), "field7");
+		metadata.initialize(page, null, Device.DESKTOP);
+		assertEquals(page.field39.getLocator(), "css=#field39");
+	}
+
+	@Test
+	public void verifyGeneratedInitializerIsUsed() {
+		PageMetadata metadata = PageMetadata.of(GeneratedPage.class);
+		assertEquals(metadata.getGeneratedInitializersCount(), 1, "Initializer should be generated at build time");
+		assertEquals(metadata.getFieldsCount(), 0);
+
+		GeneratedPage page = new GeneratedPage();
+		metadata.initialize(page, null, Device.TABLET);
+		assertEquals(page.title.getLocator(), "css=.tablet-title");
+		assertEquals(page.title.getControlName(), "title");
+	}
+
+	@Test
+	public void measurePageInitialization() throws Exception {
+		// warm up both paths so JIT and class loading don't affect the measurement
+		initializeReflectively(ITERATIONS);
+		initializeWithMetadata(ITERATIONS);
+
+		long start = System.nanoTime();
+		initializeReflectively(ITERATIONS);
+		long reflectiveNanos = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		initializeWithMetadata(ITERATIONS);
+		long cachedNanos = System.nanoTime() - start;
+
+		Logger.info(String.format("[PageMetadataTest] Microseconds per page of 40 fields - reflective: %.2f, cached: %.2f",
+				reflectiveNanos / 1000.0 / ITERATIONS, cachedNanos / 1000.0 / ITERATIONS));
+		assertTrue(cachedNanos < reflectiveNanos, "Cached initialization should be faster than reflective one");
+	}
+
+	private static int initializeWithMetadata(int iterations) {
+		int hash = 0;
+		for (int i = 0; i < iterations; i++) {
+			LargePage page = new LargePage();
+			PageMetadata.of(LargePage.class).initialize(page, null, Device.DESKTOP);
+			hash += System.identityHashCode(page.field0);
+		}
+		return hash;
+	}
+
+	/** Initialization as it was done before metadata was cached: every field is resolved on every page. */
+	private static int initializeReflectively(int iterations) throws Exception {
+		int hash = 0;
+		for (int i = 0; i < iterations; i++) {
+			LargePage page = new LargePage();
+			List<Field> fields = new ArrayList<>();
+			for (Class<?> type = LargePage.class; type != null; type = type.getSuperclass()) {
+				fields.addAll(Arrays.asList(type.getDeclaredFields()));
+			}
+			for (Field field : fields) {
+				if (field.isAnnotationPresent(Locator.class)) {
+					Locator locator = field.getAnnotation(Locator.class);
+					field.setAccessible(true);
+					Constructor<?> constructor = Class.forName(field.getType().getName())
+							.getDeclaredConstructor(WebDriver.class, String.class, String.class);
+					field.set(page, constructor.newInstance(null, locator.main(), field.getName()));
+				}
+			}
+			hash += System.identityHashCode(page.field0);
+		}
+		return hash;
+	}
+
+	static class GeneratedPage {
+
+		@Locator(main = "css=.title", mobile = "css=.mobile-title", tablet = "css=.tablet-title")
+		protected WebObject title;
+	}
+
+	private static class LargePage {
+
+		@Locator(main = "css=#field0", mobile = "css=.field0")
+		private WebObject field0;
+
+		@Locator(main = "css=#field1", mobile = "css=.field1")
+		private WebObject field1;
+
+		@Locator(main = "css=#field2", mobile = "css=.field2")
+		private WebObject field2;
+
+		@Locator(main = "css=#field3", mobile = "css=.field3")
+		private WebObject field3;
+
+		@Locator(main = "css=#field4", mobile = "css=.field4")
+		private WebObject field4;
+
+		@Locator(main = "css=#field5", mobile = "css=.field5")
+		private WebObject field5;
+
+		@Locator(main = "css=#field6", mobile = "css=.field6")
+		private WebObject field6;
+
+		@Locator(main = "css=#field7", mobile = "css=.field7")
+		private WebObject field7;
+
+		@Locator(main = "css=#field8", mobile = "css=.field8")
+		private WebObject field8;
+
+		@Locator(main = "css=#field9", mobile = "css=.field9")
+		private WebObject field9;
+
+		@Locator(main = "css=#field10", mobile = "css=.field10")
+		private WebObject field10;
+
+		@Locator(main = "css=#field11", mobile = "css=.field11")
+		private WebObject field11;
+
+		@Locator(main = "css=#field12", mobile = "css=.field12")
+		private WebObject field12;
+
+		@Locator(main = "css=#field13", mobile = "css=.field13")
+		private WebObject field13;
+
+		@Locator(main = "css=#field14", mobile = "css=.field14")
+		private WebObject field14;
+
+		@Locator(main = "css=#field15", mobile = "css=.field15")
+		private WebObject field15;
+
+		@Locator(main = "css=#field16", mobile = "css=.field16")
+		private WebObject field16;
+
+		@Locator(main = "css=#field17", mobile = "css=.field17")
+		private WebObject field17;
+
+		@Locator(main = "css=#field18", mobile = "css=.field18")
+		private WebObject field18;
+
+		@Locator(main = "css=#field19", mobile = "css=.field19")
+		private WebObject field19;
+
+		@Locator(main = "css=#field20", mobile = "css=.field20")
+		private WebObject field20;
+
+		@Locator(main = "css=#field21", mobile = "css=.field21")
+		private WebObject field21;
+
+		@Locator(main = "css=#field22", mobile = "css=.field22")
+		private WebObject field22;
+
+		@Locator(main = "css=#field23", mobile = "css=.field23")
+		private WebObject field23;
+
+		@Locator(main = "css=#field24", mobile = "css=.field24")
+		private WebObject field24;
+
+		@Locator(main = "css=#field25", mobile = "css=.field25")
+		private WebObject field25;
+
+		@Locator(main = "css=#field26", mobile = "css=.field26")
+		private WebObject field26;
+
+		@Locator(main = "css=#field27", mobile = "css=.field27")
+		private WebObject field27;
+
+		@Locator(main = "css=#field28", mobile = "css=.field28")
+		private WebObject field28;
+
+		@Locator(main = "css=#field29", mobile = "css=.field29")
+		private WebObject field29;
+
+		@Locator(main = "css=#field30", mobile = "css=.field30")
+		private WebObject field30;
+
+		@Locator(main = "css=#field31", mobile = "css=.field31")
+		private WebObject field31;
+
+		@Locator(main = "css=#field32", mobile = "css=.field32")
+		private WebObject field32;
+
+		@Locator(main = "css=#field33", mobile = "css=.field33")
+		private WebObject field33;
+
+		@Locator(main = "css=#field34", mobile = "css=.field34")
+		private WebObject field34;
+
+		@Locator(main = "css=#field35", mobile = "css=.field35")
+		private WebObject field35;
+
+		@Locator(main = "css=#field36", mobile = "css=.field36")
+		private WebObject field36;
+
+		@Locator(main = "css=#field37", mobile = "css=.field37")
+		private WebObject field37;
+
+		@Locator(main = "css=#field38", mobile = "css=.field38")
+		private WebObject field38;
+
+		@Locator(main = "css=#field39", mobile = "css=.field39")
+		private WebObject field39;
+	}
+}
@@ -0,0 +1,289 @@
+package framework.platform.html;
+
+import framework.adapters.WebDriverManager;
+import framework.components.BasicPage;
+import framework.platform.html.support.ByOrOperator;
+import framework.platform.html.support.ElementCache;
+import framework.platform.html.support.ElementFilter;
+import framework.platform.html.support.HtmlElementUtils;
+import framework.platform.html.support.ReadinessCheck;
+import framework.platform.html.support.RetryExhaustedException;
+import framework.platform.html.support.RetryPolicy;
+import framework.platform.html.support.WaitForAny;
+import framework.platform.web.Locator;
+import framework.platform.web.NetworkTracker;
+import framework.platform.web.PageReadiness;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+import org.openqa.selenium.support.PageFactory;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * HtmlUnitSmokeTest
+ * <p>
+ * Verifies that page objects and {@link WebObject} work in-process on HtmlUnit, with and without javascript.
+ */
+public class HtmlUnitSmokeTest {
+	private static final String FIXTURE = "/fixtures/smoke.html";
+
+	@Test
+	public void verifyPageObjectOnHtmlUnit() {
+		WebDriver driver = WebDriverManager.getDriver();
+		assertTrue(driver instanceof HtmlUnitDriver, "Framework tests should run on HtmlUnit");
+		FixturePage page = openFixture(driver);
+		assertEquals(page.title.getText(), "Fixture title");
+		page.name.type("HtmlUnit");
+		assertEquals(page.name.getValue(), "HtmlUnit");
+		assertEquals(page.items.getElementsCount(), 3);
+		assertEquals(page.items.getVisibleElementsCount(), 2);
+		assertEquals(page.items.getNumberOfVisibleAndClickableElements(), 2);
+		assertEquals(page.items.getFirstVisibleAndClickableElement(), 2, "Hidden item should be skipped");
+		page.counter.clickWithJS();
+		assertEquals(page.counter.getAttribute("data-clicks"), "1");
+	}
+
+	@Test
+	public void verifyJavascriptHelpersDegradeWithoutJavascript() {
+		WebDriver leasedDriver = WebDriverManager.getDriver();
+		HtmlUnitDriver driver = new HtmlUnitDriver(false);
+		WebDriverManager.setWebDriver(driver);
+		try {
+			FixturePage page = openFixture(driver);
+			page.name.type("No javascript");
+			page.counter.scrollToElement();
+			page.counter.clickWithJS();
+			assertEquals(page.name.getValue(), "No javascript");
+			assertNull(page.counter.getAttribute("data-clicks"), "Click handler should not run without javascript");
+		} finally {
+			WebDriverManager.setWebDriver(leasedDriver);
+			driver.quit();
+		}
+	}
+
+	@Test
+	public void verifyElementIsReusedAndLocatedAgainWhenStale() {
+		FixturePage page = openFixture(WebDriverManager.getDriver());
+		assertEquals(page.title.getText(), "Fixture title");
+		long hits = ElementCache.getCounters(page.title)[0];
+		long misses = ElementCache.getCounters(page.title)[1];
+		long recovered = RetryPolicy.getCounters(page.title)[1];
+		assertEquals(page.title.getText(), "Fixture title");
+		assertEquals(ElementCache.getCounters(page.title)[0], hits + 1, "Located element should be reused");
+		page.getDriver().navigate().refresh();
+		assertEquals(page.title.getText(), "Fixture title", "Stale element should be located again");
+		assertEquals(ElementCache.getCounters(page.title)[1], misses + 1);
+		assertEquals(RetryPolicy.getCounters(page.title)[1], recovered + 1, "Recovery should be recorded");
+	}
+
+	@Test
+	public void verifyRecoveryFailsWithContext() {
+		FixturePage page = openFixture(WebDriverManager.getDriver());
+		assertEquals(page.items.getFirstRelatedElementFromList("Second").getText(), "Second");
+		try {
+			page.items.getFirstRelatedElementFromList("Missing");
+			fail("Missing element should not be returned as null");
+		} catch (RetryExhaustedException e) {
+			assertTrue(e.getMessage().contains("items"), "Error should name the control: " + e.getMessage());
+		}
+	}
+
+	@Test
+	public void verifyListIsFilteredInBrowser() {
+		FixturePage page = openFixture(WebDriverManager.getDriver());
+		assertTrue(page.items.isElementPresentInList("First"));
+		assertFalse(page.items.isElementPresentInList("Hidden"), "Text of hidden item should not match");
+		List<WebElement> links = page.items.getElements(ElementFilter.where().indexRange(1, 3).child("css=a"));
+		assertEquals(links.size(), 2, "Hidden item should be out of range");
+		assertEquals(links.get(1).getAttribute("href"), page.items.getElements().get(2).findElement(
+				By.tagName("a")).getAttribute("href"));
+		assertTrue(page.items.getElements(ElementFilter.where().textContains("Second").attributeEquals("id", "x"))
+				.isEmpty());
+	}
+
+	@Test
+	public void verifyFieldsOfAllElementsAreReadAtOnce() {
+		FixturePage page = openFixture(WebDriverManager.getDriver());
+		assertEquals(page.items.getTexts().subList(1, 3), Arrays.asList("First", "Second"));
+		List<Map<String, String>> links = page.links.getFields("text", "href", "data-missing");
+		assertEquals(links.size(), 3);
+		assertEquals(links.get(1).get("text"), "First");
+		assertEquals(links.get(1).get("href"), page.links.getHrefOfElementNumber(2));
+		assertNull(links.get(1).get("data-missing"));
+	}
+
+	@Test
+	public void verifyReadinessIsCheckedOnFirstInteraction() {
+		FixturePage page = openFixture(WebDriverManager.getDriver());
+		assertTrue(PageReadiness.isPending(page.getDriver()), "Constructor should not wait for the page");
+		assertEquals(page.title.getText(), "Fixture title");
+		assertFalse(PageReadiness.isPending(page.getDriver()), "Readiness should be confirmed by the first lookup");
+		page.getDriver().navigate().refresh();
+		PageReadiness.expectNewDocument(page.getDriver());
+		assertEquals(page.name.getElementsCount(), 1);
+		assertFalse(PageReadiness.isPending(page.getDriver()));
+		page.getDriver().navigate().refresh();
+		assertEquals(page.name.getElementsCount(), 1);
+		assertEquals(((JavascriptExecutor) page.getDriver()).executeScript("return !!window.__readyToken;"), true,
+				"Document loaded without new page object should be checked again");
+	}
+
+	@Test
+	public void verifyReadinessContractReportsPendingElements() {
+		FixturePage page = openFixture(WebDriverManager.getDriver());
+		page.delayed.click();
+		long start = System.currentTimeMillis();
+		PageFactory.initElements(page.getDriver(), DelayedPage.class).waitForPageToLoad();
+		assertTrue(System.currentTimeMillis() - start < 5000, "Wait should end as soon as required element is visible");
+		assertFalse(PageReadiness.isPending(page.getDriver()), "Passed contract should confirm readiness");
+		assertTrue(page.getDriver().findElement(By.id("late")).isDisplayed());
+
+		Map<String, String> required = new LinkedHashMap<>();
+		required.put("late", "id=late");
+		required.put("missing", "css=.missing|xpath=//missing");
+		ReadinessCheck.Result result = ReadinessCheck.of(required).await(page.getDriver(), 300);
+		assertFalse(result.isReady());
+		assertEquals(result.getPending(), Collections.singletonList("missing"), "Slow element should be reported");
+		assertTrue(result.getSatisfiedAfter().containsKey("late"));
+	}
+
+	@Test
+	public void verifyFirstOutcomeIsReturnedWithoutWaitingForOthers() {
+		FixturePage page = openFixture(WebDriverManager.getDriver());
+		page.delayed.click();
+		long start = System.currentTimeMillis();
+		assertSame(WebObject.waitForAny(10000, page.missing, page.late), page.late);
+		try {
+			WebObject.waitForAny(100, page.missing);
+			fail("Timeout should be reported");
+		} catch (TimeoutException e) {
+			assertTrue(e.getMessage().contains("missing"), "Timeout should name the control: " + e.getMessage());
+		}
+		assertTrue(System.currentTimeMillis() - start < 5000, "Wait should end when the first outcome appears");
+
+		assertEquals(WaitForAny.of(page.getDriver())
+				.visible("missing", page.missing)
+				.when("counted", () -> page.late.isPresentNow())
+				.script("loaded", "return document.readyState === 'complete';")
+				.await(1000), "counted", "Condition added first should win");
+		try {
+			WaitForAny.of(page.getDriver()).present("missing", page.missing).await(200);
+			fail("Timeout should be reported");
+		} catch (TimeoutException e) {
+			assertTrue(e.getMessage().contains("missing"), "Error should name conditions: " + e.getMessage());
+		}
+	}
+
+	@Test
+	public void verifyAlternativesAreResolvedInOneCall() {
+		WebDriver driver = WebDriverManager.getDriver();
+		openFixture(driver);
+		ByOrOperator locator = (ByOrOperator) HtmlElementUtils.resolveByType(
+				"css=.missing|xpath=//ul[@class='items']/li|id=name");
+		long start = System.currentTimeMillis();
+		ByOrOperator.Match match = locator.findMatch(driver);
+		assertTrue(System.currentTimeMillis() - start < 5000, "Implicit wait should not be spent on missing alternative");
+		assertEquals(match.getIndex(), 1, "Second alternative should win");
+		assertEquals(match.getElements().size(), 3);
+		assertEquals(match.getElements().get(1).getText(), "First");
+	}
+
+	@Test
+	public void verifyWaitForNetworkIdleEndsAfterRequestIsFinished() {
+		FixturePage page = openFixture(WebDriverManager.getDriver());
+		page.load.click();
+		page.waitForNetworkIdle(200);
+		assertEquals(page.result.getAttribute("data-state"), "loaded", "Wait should end after request is finished");
+	}
+
+	@Test
+	public void verifyAbortedRequestIsNotInFlight() {
+		FixturePage page = openFixture(WebDriverManager.getDriver());
+		NetworkTracker.install(page.getDriver());
+		page.abort.click();
+		long start = System.currentTimeMillis();
+		assertTrue(NetworkTracker.waitForNetworkIdle(page.getDriver(), 100, 3000), "Aborted request should be finished");
+		assertTrue(System.currentTimeMillis() - start < 3000);
+	}
+
+	@Test
+	public void verifyPageLoadFailsWithoutRequiredElement() {
+		MissingPage page = PageFactory.initElements(openFixture(WebDriverManager.getDriver()).getDriver(),
+				MissingPage.class);
+		try {
+			page.waitForPageToLoad();
+			fail("Page without required element should not be loaded");
+		} catch (TimeoutException e) {
+			assertTrue(e.getMessage().contains("missing"), "Error should name pending element: " + e.getMessage());
+		}
+	}
+
+	private FixturePage openFixture(WebDriver driver) {
+		driver.navigate().to(getClass().getResource(FIXTURE).toString());
+		return PageFactory.initElements(driver, FixturePage.class);
+	}
+
+	public static class DelayedPage extends BasicPage {
+
+		@Locator(main = "id=late", requiredForReady = true)
+		protected WebObject late;
+	}
+
+	public static class MissingPage extends BasicPage {
+
+		@Locator(main = "css=.missing", requiredForReady = true)
+		protected WebObject missing;
+	}
+
+	public static class FixturePage extends BasicPage {
+
+		@Locator(main = "css=.title")
+		protected WebObject title;
+
+		@Locator(main = "id=name")
+		protected WebObject name;
+
+		@Locator(main = "css=.items>li")
+		protected WebObject items;
+
+		@Locator(main = "css=.items a")
+		protected WebObject links;
+
+		@Locator(main = "id=counter")
+		protected WebObject counter;
+
+		@Locator(main = "id=load")
+		protected WebObject load;
+
+		@Locator(main = "id=abort")
+		protected WebObject abort;
+
+		@Locator(main = "id=result")
+		protected WebObject result;
+
+		@Locator(main = "id=delayed")
+		protected WebObject delayed;
+
+		@Locator(main = "id=late")
+		protected WebObject late;
+
+		@Locator(main = "css=.missing")
+		protected WebObject missing;
+	}
+}
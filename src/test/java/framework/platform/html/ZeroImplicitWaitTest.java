@@ -0,0 +1,66 @@
+package framework.platform.html;
+
+import framework.Logger;
+import framework.adapters.WebDriverManager;
+import framework.platform.ConfigProvider;
+import framework.platform.html.HtmlUnitSmokeTest.FixturePage;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.PageFactory;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * ZeroImplicitWaitTest
+ * <p>
+ * Compares timing of negative checks with implicit wait and in zero-implicit-wait mode, and verifies that actions
+ * still wait for elements explicitly. Framework tests run with implicit.wait=0.
+ */
+public class ZeroImplicitWaitTest {
+	private static final String FIXTURE = "/fixtures/smoke.html";
+	private static final int LEGACY_IMPLICIT_WAIT_SECONDS = 2;
+
+	@Test
+	public void compareNegativeChecksWithAndWithoutImplicitWait() {
+		WebDriver driver = WebDriverManager.getDriver();
+		openFixture(driver);
+		WebObject missing = new WebObject(driver, "css=.missing", "missing");
+
+		driver.manage().timeouts().implicitlyWait(LEGACY_IMPLICIT_WAIT_SECONDS, TimeUnit.SECONDS);
+		long start = System.currentTimeMillis();
+		assertFalse(missing.isElementPresent());
+		long withImplicitWait = System.currentTimeMillis() - start;
+		driver.manage().timeouts().implicitlyWait(ConfigProvider.get().getImplicitWait(), TimeUnit.SECONDS);
+
+		start = System.currentTimeMillis();
+		assertFalse(missing.isElementPresent());
+		assertFalse(missing.isVisible());
+		assertTrue(missing.isAbsent());
+		long withoutImplicitWait = System.currentTimeMillis() - start;
+
+		Logger.info(String.format("[ZeroImplicitWaitTest] Negative check with implicit wait: %d ms, "
+				+ "three negative checks without implicit wait: %d ms", withImplicitWait, withoutImplicitWait));
+		assertTrue(withImplicitWait >= TimeUnit.SECONDS.toMillis(LEGACY_IMPLICIT_WAIT_SECONDS));
+		assertTrue(withoutImplicitWait < 1000, "Negative checks should not wait for element");
+	}
+
+	@Test
+	public void verifyActionsWaitForElementExplicitly() {
+		WebDriver driver = WebDriverManager.getDriver();
+		FixturePage page = openFixture(driver);
+		WebObject late = new WebObject(driver, "id=late", "late");
+		page.delayed.click();
+		assertTrue(late.isAbsent(), "Element should not be added yet");
+		assertEquals(late.getText(), "Late", "Action should wait until element appears");
+		assertTrue(late.isPresentNow());
+	}
+
+	private FixturePage openFixture(WebDriver driver) {
+		driver.navigate().to(getClass().getResource(FIXTURE).toString());
+		return PageFactory.initElements(driver, FixturePage.class);
+	}
+}
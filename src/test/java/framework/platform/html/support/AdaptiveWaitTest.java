@@ -0,0 +1,32 @@
+package framework.platform.html.support;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * AdaptiveWaitTest
+ * <p>
+ * Verifies that polling backs off for slow conditions and that history of waits seeds the initial interval.
+ */
+public class AdaptiveWaitTest {
+	private static final long CONDITION_MILLIS = 600;
+
+	@Test
+	public void verifyPollingBacksOffAndIsSeededByHistory() {
+		String key = "css=.slow-condition";
+		long fastInterval = AdaptiveWait.getInitialInterval(key);
+		int[] polls = new int[1];
+		long start = System.currentTimeMillis();
+		String result = new AdaptiveWait<>(start, key, 5000).until(started -> {
+			polls[0]++;
+			return System.currentTimeMillis() - started >= CONDITION_MILLIS ? "done" : null;
+		});
+		assertEquals(result, "done");
+		assertTrue(polls[0] < CONDITION_MILLIS / fastInterval / 2,
+				"Polling should back off, but condition was polled " + polls[0] + " times");
+		assertTrue(AdaptiveWait.getInitialInterval(key) > fastInterval,
+				"Slow condition should be polled less often next time");
+	}
+}
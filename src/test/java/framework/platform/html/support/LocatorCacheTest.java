@@ -0,0 +1,76 @@
+package framework.platform.html.support;
+
+import framework.Logger;
+import org.openqa.selenium.By;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * LocatorCacheTest
+ * <p>
+ * Verifies that locators are compiled once and measures allocations of cached and uncached locator resolution.
+ */
+public class LocatorCacheTest {
+	private static final String LOCATOR = "css=.items>li|xpath=//ul[@class='items']/li|id=item";
+	private static final int ITERATIONS = 100_000;
+
+	@Test
+	public void verifyLocatorIsCompiledOnce() {
+		By by = HtmlElementUtils.resolveByType(LOCATOR);
+		assertSame(HtmlElementUtils.resolveByType(LOCATOR), by, "Compiled locator should be reused");
+		assertEquals(by.toString(), HtmlElementUtils.compileByType(LOCATOR).toString());
+	}
+
+	@Test
+	public void measureAllocationOfLocatorResolution() {
+		com.sun.management.ThreadMXBean threadBean = getThreadBean();
+		long threadId = Thread.currentThread().getId();
+		// warm up both paths so JIT and class loading don't affect the measurement
+		resolveUncached(ITERATIONS);
+		resolveCached(ITERATIONS);
+
+		long start = threadBean.getThreadAllocatedBytes(threadId);
+		resolveUncached(ITERATIONS);
+		long uncachedBytes = threadBean.getThreadAllocatedBytes(threadId) - start;
+
+		start = threadBean.getThreadAllocatedBytes(threadId);
+		resolveCached(ITERATIONS);
+		long cachedBytes = threadBean.getThreadAllocatedBytes(threadId) - start;
+
+		Logger.info(String.format("[LocatorCacheTest] Bytes per resolution - uncached: %d, cached: %d",
+				uncachedBytes / ITERATIONS, cachedBytes / ITERATIONS));
+		assertTrue(cachedBytes * 10 < uncachedBytes, "Cached resolution should allocate at least 10 times less");
+	}
+
+	private static com.sun.management.ThreadMXBean getThreadBean() {
+		java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		if (!(threadBean instanceof com.sun.management.ThreadMXBean)
+				|| !((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemorySupported()) {
+			throw new SkipException("Thread allocation measurement is not supported by this JVM");
+		}
+		((com.sun.management.ThreadMXBean) threadBean).setThreadAllocatedMemoryEnabled(true);
+		return (com.sun.management.ThreadMXBean) threadBean;
+	}
+
+	private static int resolveUncached(int iterations) {
+		int hash = 0;
+		for (int i = 0; i < iterations; i++) {
+			hash += System.identityHashCode(HtmlElementUtils.compileByType(LOCATOR));
+		}
+		return hash;
+	}
+
+	private static int resolveCached(int iterations) {
+		int hash = 0;
+		for (int i = 0; i < iterations; i++) {
+			hash += System.identityHashCode(HtmlElementUtils.resolveByType(LOCATOR));
+		}
+		return hash;
+	}
+}
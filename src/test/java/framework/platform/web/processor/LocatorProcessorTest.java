@@ -0,0 +1,34 @@
+package framework.platform.web.processor;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+/**
+ * LocatorProcessorTest
+ * <p>
+ * Verifies which locators are rejected by the build.
+ */
+public class LocatorProcessorTest {
+
+	@Test
+	public void verifyValidLocatorsAreAccepted() {
+		assertNull(LocatorProcessor.validateLocator("css=.items>li|xpath=//ul[@class='items']/li|id=item"));
+		assertNull(LocatorProcessor.validateLocator("//a[contains(text(), 'Buy')]"));
+		assertNull(LocatorProcessor.validateLocator("name=q"));
+		assertNull(LocatorProcessor.validateLocator("link=Sign in"));
+		assertNull(LocatorProcessor.validateLocator("search"));
+		assertNull(LocatorProcessor.validateLocator("css=a[title=\"x]\"]"));
+		assertNull(LocatorProcessor.validateLocator("class=items"), "Resolved as id or name at runtime");
+	}
+
+	@Test
+	public void verifyMalformedLocatorsAreRejected() {
+		assertNotNull(LocatorProcessor.validateLocator("css=.items||id=item"), "Empty alternative");
+		assertNotNull(LocatorProcessor.validateLocator("css=.items|"), "Trailing delimiter");
+		assertNotNull(LocatorProcessor.validateLocator("id= "), "No value");
+		assertNotNull(LocatorProcessor.validateLocator("xpath=//ul[@class='items'"), "Broken xpath");
+		assertNotNull(LocatorProcessor.validateLocator("css=a[href='x']]"), "Unbalanced css");
+	}
+}
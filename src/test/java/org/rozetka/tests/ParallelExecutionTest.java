@@ -0,0 +1,44 @@
+package org.rozetka.tests;
+
+import framework.Settings;
+import framework.adapters.WebDriverManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.PageFactory;
+import org.testng.annotations.Test;
+import rozetka.RozetkaMainPage;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * ParallelExecutionTest
+ * <p>
+ * Runs the same flow on several threads at once and verifies that page objects stay bound to the session of their own
+ * thread. Should be executed with thread.count > 1.
+ */
+public class ParallelExecutionTest {
+	private static final int THREADS = 8;
+	private final Set<WebDriver> activeSessions = ConcurrentHashMap.newKeySet();
+
+	@Test (groups = {"rozetka"}, invocationCount = THREADS, threadPoolSize = THREADS)
+	public void verifyPagesAreBoundToOwnSession() {
+		WebDriver driver = WebDriverManager.getDriver();
+		assertTrue(activeSessions.add(driver), "Session " + driver + " should not be shared between threads");
+		try {
+			String probe = UUID.randomUUID().toString();
+			driver.navigate().to(Settings.getDefaultUrl() + "/?probe=" + probe);
+			RozetkaMainPage rozetkaPage = PageFactory.initElements(driver, RozetkaMainPage.class);
+			assertSame(rozetkaPage.getDriver(), driver, "Page should be bound to the session of its thread");
+			assertTrue(rozetkaPage.isMainMenuVisible(), "MainMenu should be visible");
+			assertTrue(driver.getCurrentUrl().contains(probe), "Session was navigated by another thread");
+			assertEquals(WebDriverManager.getDriver(), driver, "Thread should keep its session during the test");
+		} finally {
+			activeSessions.remove(driver);
+		}
+	}
+}